@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Compara throughput y latencias (p50/p90/p99) del modo con hilos de plataforma (por defecto)
+# y del modo con hilos virtuales. Requiere PostgreSQL en marcha, Java 21 y wrk.
+#
+#   ./scripts/compare-virtual-threads.sh [conexiones] [duración]
+#
+# Los resultados de wrk se guardan en target/vt-comparison/<modo>.txt
+set -euo pipefail
+
+CONNECTIONS="${1:-1000}"
+DURATION="${2:-60s}"
+THREADS="${THREADS:-8}"
+PORT="${PORT:-8080}"
+JAR="target/loan-0.0.1-SNAPSHOT.jar"
+OUT="target/vt-comparison"
+BASE_URL="http://localhost:${PORT}"
+
+mkdir -p "$OUT"
+[ -f "$JAR" ] || mvn -q -DskipTests package
+
+wait_ready() {
+  for _ in $(seq 1 120); do
+    curl -sf "${BASE_URL}/api/client" > /dev/null && return 0
+    sleep 0.5
+  done
+  echo "La aplicación no arrancó" >&2
+  return 1
+}
+
+seed() {
+  local client_id
+  client_id=$(curl -sf -X POST "${BASE_URL}/api/client" -H 'Content-Type: application/json' \
+    -d "{\"name\":\"Carga\",\"dni\":\"$(printf '%08d' $((RANDOM * RANDOM % 100000000)))Z\",\"email\":\"carga-$RANDOM$RANDOM@email.com\"}" \
+    | sed -E 's/.*"id":([0-9]+).*/\1/')
+  for _ in $(seq 1 200); do
+    curl -sf -X POST "${BASE_URL}/api/loan-requests" -H 'Content-Type: application/json' \
+      -d "{\"clientId\":${client_id},\"amount\":15000.0,\"currency\":\"EUR\"}" > /dev/null
+  done
+  echo "$client_id"
+}
+
+run_mode() {
+  local mode="$1" profiles="$2"
+  echo "== ${mode}"
+  java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profiles" > "${OUT}/${mode}-app.log" 2>&1 &
+  local pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+  wait_ready
+  local client_id
+  client_id=$(seed)
+  # Calentamiento
+  wrk -t"$THREADS" -c100 -d15s "${BASE_URL}/api/loan-requests?clientId=${client_id}" > /dev/null
+  wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency \
+    "${BASE_URL}/api/loan-requests?clientId=${client_id}" | tee "${OUT}/${mode}.txt"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform-threads default
+run_mode virtual-threads virtual-threads
+
+echo
+echo "Resumen (${CONNECTIONS} conexiones, ${DURATION}):"
+for mode in platform-threads virtual-threads; do
+  rps=$(grep 'Requests/sec' "${OUT}/${mode}.txt" | awk '{print $2}')
+  p99=$(grep -E '^ +99%' "${OUT}/${mode}.txt" | awk '{print $2}')
+  printf '  %-17s %12s req/s   p99 %s\n' "$mode" "$rps" "$p99"
+done
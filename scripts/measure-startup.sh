@@ -0,0 +1,80 @@
+#!/usr/bin/env bash
+# Mide el tiempo hasta la primera petición respondida (desde que se lanza la JVM hasta el primer 200 de
+# /api/loan-requests) en tres variantes, todas con el perfil prod:
+#   baseline  jar normal
+#   aot       jar del perfil Maven fast-start con -Dspring.aot.enabled=true
+#   aot-cds   lo mismo, extraído y con un archivo AppCDS generado en una ejecución de entrenamiento
+# Requiere PostgreSQL en marcha con el esquema creado, Java 21 y curl.
+#
+#   ./scripts/measure-startup.sh [repeticiones]
+#
+# Los tiempos de cada ejecución y la mediana se guardan en target/startup/results.txt
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-8080}"
+NAME="loan-0.0.1-SNAPSHOT"
+OUT="target/startup"
+URL="http://localhost:${PORT}/api/loan-requests?limit=1"
+
+rm -rf "$OUT"
+mkdir -p "$OUT"
+
+now_ms() {
+  date +%s%3N
+}
+
+# Arranca la JVM con los argumentos dados y devuelve los ms hasta la primera respuesta correcta
+time_to_first_request() {
+  local start pid elapsed
+  start=$(now_ms)
+  "$@" --server.port="$PORT" --spring.profiles.active=prod > "${OUT}/app.log" 2>&1 &
+  pid=$!
+  trap "kill $pid 2>/dev/null || true" EXIT
+  until curl -sf -o /dev/null "$URL"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "La aplicación terminó sin responder; ver ${OUT}/app.log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  trap - EXIT
+  echo "$elapsed"
+}
+
+measure() {
+  local variant="$1"
+  shift
+  local times=()
+  for _ in $(seq 1 "$RUNS"); do
+    times+=("$(time_to_first_request "$@")")
+  done
+  local median
+  median=$(printf '%s\n' "${times[@]}" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }')
+  printf '%-9s median %6s ms   runs: %s\n' "$variant" "$median" "${times[*]}" | tee -a "${OUT}/results.txt"
+}
+
+echo "== baseline"
+mvn -q -DskipTests package
+cp "target/${NAME}.jar" "${OUT}/baseline.jar"
+measure baseline java -jar "${OUT}/baseline.jar"
+
+echo "== fast-start (AOT)"
+mvn -q -Pfast-start -DskipTests package
+java -Djarmode=tools -jar "target/${NAME}.jar" extract --destination "${OUT}/aot"
+measure aot java -Dspring.aot.enabled=true -jar "${OUT}/aot/${NAME}.jar"
+
+echo "== fast-start (AOT + AppCDS)"
+# Entrenamiento: arranca el contexto, sale tras el refresh y vuelca las clases cargadas al archivo CDS
+java -XX:ArchiveClassesAtExit="${OUT}/aot/application.jsa" -Dspring.aot.enabled=true \
+  -Dspring.context.exit=onRefresh -jar "${OUT}/aot/${NAME}.jar" --spring.profiles.active=prod \
+  > "${OUT}/training.log" 2>&1
+measure aot-cds java -XX:SharedArchiveFile="${OUT}/aot/application.jsa" -Dspring.aot.enabled=true \
+  -jar "${OUT}/aot/${NAME}.jar"
+
+echo
+echo "Tiempo hasta la primera petición (${RUNS} ejecuciones):"
+cat "${OUT}/results.txt"
@@ -0,0 +1,40 @@
+-- Bases de datos creadas antes de nombrar las restricciones únicas de client (uk_client_dni y
+-- uk_client_email): ddl-auto: update añade las nuevas pero no borra las que Hibernate generó con
+-- nombre automático para @Column(unique = true), así que cada inserción mantiene dos índices únicos
+-- por columna.
+--
+-- Crea las restricciones con nombre si faltan y borra las antiguas en la misma transacción, de modo
+-- que la unicidad no deja de comprobarse en ningún momento. Es idempotente:
+--   psql -d loan -f scripts/migrations/001-client-unique-constraints.sql
+DO $$
+DECLARE
+    old_constraint record;
+BEGIN
+    -- Base de datos vacía: 002-schema.sql crea la tabla ya con las restricciones con nombre
+    IF to_regclass('client') IS NULL THEN
+        RETURN;
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'client'::regclass AND conname = 'uk_client_dni') THEN
+        ALTER TABLE client ADD CONSTRAINT uk_client_dni UNIQUE (dni);
+    END IF;
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'client'::regclass AND conname = 'uk_client_email') THEN
+        ALTER TABLE client ADD CONSTRAINT uk_client_email UNIQUE (email);
+    END IF;
+
+    FOR old_constraint IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.conrelid = 'client'::regclass
+          AND con.contype = 'u'
+          AND array_length(con.conkey, 1) = 1
+          AND att.attname IN ('dni', 'email')
+          AND con.conname NOT IN ('uk_client_dni', 'uk_client_email')
+    LOOP
+        RAISE NOTICE 'Dropping redundant unique constraint %', old_constraint.conname;
+        EXECUTE format('ALTER TABLE client DROP CONSTRAINT %I', old_constraint.conname);
+    END LOOP;
+END $$;
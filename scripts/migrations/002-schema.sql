@@ -0,0 +1,66 @@
+-- Esquema completo de la aplicación para los entornos con ddl-auto: none (perfil prod). Crea lo que
+-- falte y no toca lo que ya existe, así que sirve tanto para una base de datos vacía como para una
+-- creada por versiones anteriores con ddl-auto: update. Es idempotente; se ejecuta una vez por
+-- despliegue, después de 001:
+--   psql -d loan -v ON_ERROR_STOP=1 -f scripts/migrations/001-client-unique-constraints.sql
+--   psql -d loan -v ON_ERROR_STOP=1 -f scripts/migrations/002-schema.sql
+--
+-- Debe mantenerse al día con las entidades de com.project.loan.models.
+BEGIN;
+
+-- Tablas
+
+CREATE TABLE IF NOT EXISTS client (
+    id         bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       varchar(255) NOT NULL,
+    dni        varchar(255) NOT NULL,
+    email      varchar(255),
+    created_at timestamp(6),
+    version    bigint DEFAULT 0 NOT NULL,
+    CONSTRAINT uk_client_dni UNIQUE (dni),
+    CONSTRAINT uk_client_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS loan_request (
+    id         bigint PRIMARY KEY,
+    client_id  bigint NOT NULL CONSTRAINT fk_loan_request_client REFERENCES client,
+    amount     float(53),
+    currency   varchar(255),
+    status     smallint NOT NULL CHECK (status BETWEEN 0 AND 3),
+    created_at timestamp(6),
+    version    bigint DEFAULT 0 NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id                bigint PRIMARY KEY,
+    aggregate_id      bigint NOT NULL,
+    aggregate_version bigint NOT NULL,
+    event_type        varchar(255) NOT NULL,
+    payload           varchar(4000) NOT NULL,
+    created_at        timestamp(6) NOT NULL
+);
+
+-- Columnas añadidas a tablas existentes (bloqueo optimista y ETag)
+
+ALTER TABLE client ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+ALTER TABLE loan_request ADD COLUMN IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+
+-- Secuencias: bloques de 50 IDs (allocationSize) con el optimizador pooled-lo
+
+CREATE SEQUENCE IF NOT EXISTS loan_request_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS outbox_event_seq START WITH 1 INCREMENT BY 50;
+
+-- Índices de loan_request: uno por combinación de filtros del listado, terminado en (created_at, id)
+
+CREATE INDEX IF NOT EXISTS idx_loan_request_created_at_id ON loan_request (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_loan_request_status ON loan_request (status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_loan_request_currency ON loan_request (currency, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_loan_request_status_currency ON loan_request (status, currency, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_loan_request_client ON loan_request (client_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_loan_request_client_status ON loan_request (client_id, status, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_loan_request_client_currency ON loan_request (client_id, currency, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_loan_request_client_status_currency ON loan_request (client_id, status, currency, created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_event_aggregate ON outbox_event (aggregate_id, aggregate_version);
+
+COMMIT;
@@ -0,0 +1,71 @@
+package com.project.loan.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.project.loan.dto.CreateClientDTO;
+import com.project.loan.dto.CreateLoanRequestDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.models.Client;
+import com.project.loan.models.LoanStatus;
+
+/**
+ * Datos de prueba compartidos por los benchmarks.
+ */
+final class BenchmarkData {
+
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP"};
+
+    private BenchmarkData() {
+    }
+
+    static Client client(long id) {
+        Client client = new Client();
+        client.setId(id);
+        client.setName("Cliente de prueba " + id);
+        client.setDni(String.format("%08d", id % 100_000_000) + "A");
+        client.setEmail("cliente" + id + "@email.com");
+        client.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(id));
+        return client;
+    }
+
+    static List<Client> clients(int size) {
+        List<Client> clients = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            clients.add(client(i));
+        }
+        return clients;
+    }
+
+    static LoanRequestResponseDTO loanRequest(long id) {
+        return new LoanRequestResponseDTO(id, id % 100 + 1, "Cliente de prueba " + (id % 100 + 1),
+                1000.0 + id * 25.5, CURRENCIES[(int) (id % CURRENCIES.length)],
+                LoanStatus.values()[(int) (id % LoanStatus.values().length)],
+                LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(id), 0L);
+    }
+
+    static List<LoanRequestResponseDTO> loanRequests(int size) {
+        List<LoanRequestResponseDTO> loanRequests = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            loanRequests.add(loanRequest(i));
+        }
+        return loanRequests;
+    }
+
+    static CreateLoanRequestDTO createLoanRequestDTO(Long clientId) {
+        CreateLoanRequestDTO dto = new CreateLoanRequestDTO();
+        dto.setClientId(clientId);
+        dto.setAmount(15000.0);
+        dto.setCurrency("EUR");
+        return dto;
+    }
+
+    static CreateClientDTO createClientDTO() {
+        CreateClientDTO dto = new CreateClientDTO();
+        dto.setName("Pedro López");
+        dto.setDni("11111111C");
+        dto.setEmail("pedro@email.com");
+        return dto;
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.loan.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.models.Client;
+
+/**
+ * (De)serialización Jackson de las listas que devuelven los endpoints de listado. El tamaño 50 es
+ * la página por defecto de /api/loan-requests y 500 la página máxima.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private JavaType loanRequestListType;
+    private JavaType clientListType;
+
+    private List<LoanRequestResponseDTO> loanRequests;
+    private List<Client> clients;
+    private byte[] loanRequestsJson;
+    private byte[] clientsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Misma configuración que el ObjectMapper de Spring Boot para las fechas
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        loanRequestListType = objectMapper.getTypeFactory().constructCollectionType(List.class, LoanRequestResponseDTO.class);
+        clientListType = objectMapper.getTypeFactory().constructCollectionType(List.class, Client.class);
+
+        loanRequests = BenchmarkData.loanRequests(size);
+        clients = BenchmarkData.clients(size);
+        loanRequestsJson = objectMapper.writeValueAsBytes(loanRequests);
+        clientsJson = objectMapper.writeValueAsBytes(clients);
+    }
+
+    @Benchmark
+    public byte[] serializeLoanRequests() throws IOException {
+        return objectMapper.writeValueAsBytes(loanRequests);
+    }
+
+    @Benchmark
+    public List<LoanRequestResponseDTO> deserializeLoanRequests() throws IOException {
+        return objectMapper.readValue(loanRequestsJson, loanRequestListType);
+    }
+
+    @Benchmark
+    public byte[] serializeClients() throws IOException {
+        return objectMapper.writeValueAsBytes(clients);
+    }
+
+    @Benchmark
+    public List<Client> deserializeClients() throws IOException {
+        return objectMapper.readValue(clientsJson, clientListType);
+    }
+}
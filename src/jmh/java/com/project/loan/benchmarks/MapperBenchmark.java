@@ -0,0 +1,71 @@
+package com.project.loan.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.loan.dto.CreateClientDTO;
+import com.project.loan.dto.CreateLoanRequestDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.mappers.ClientMapper;
+import com.project.loan.mappers.ClientMapperImpl;
+import com.project.loan.mappers.LoanRequestMapper;
+import com.project.loan.mappers.LoanRequestMapperImpl;
+import com.project.loan.models.Client;
+import com.project.loan.models.LoanRequest;
+import com.project.loan.models.LoanStatus;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ClientMapper clientMapper;
+    private LoanRequestMapper loanRequestMapper;
+
+    private CreateClientDTO createClientDTO;
+    private CreateLoanRequestDTO createLoanRequestDTO;
+    private Client client;
+    private LoanRequest loanRequest;
+
+    @Setup
+    public void setUp() {
+        clientMapper = new ClientMapperImpl();
+        loanRequestMapper = new LoanRequestMapperImpl();
+
+        createClientDTO = BenchmarkData.createClientDTO();
+        client = BenchmarkData.client(1);
+        createLoanRequestDTO = BenchmarkData.createLoanRequestDTO(client.getId());
+
+        loanRequest = loanRequestMapper.toEntity(createLoanRequestDTO, client);
+        loanRequest.setId(1L);
+        loanRequest.setStatus(LoanStatus.PENDING);
+    }
+
+    @Benchmark
+    public Client clientToEntity() {
+        return clientMapper.toEntity(createClientDTO);
+    }
+
+    @Benchmark
+    public LoanRequest loanRequestToEntity() {
+        return loanRequestMapper.toEntity(createLoanRequestDTO, client);
+    }
+
+    @Benchmark
+    public LoanRequestResponseDTO loanRequestToResponse() {
+        return loanRequestMapper.toResponse(loanRequest);
+    }
+}
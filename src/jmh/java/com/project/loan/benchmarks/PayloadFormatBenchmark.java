@@ -0,0 +1,121 @@
+package com.project.loan.benchmarks;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.loan.config.BinaryFormatsConfig;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.models.Client;
+
+/**
+ * JSON frente a CBOR y Smile para las listas de /api/loan-requests y /api/client: tiempo de
+ * (de)serialización y tamaño del cuerpo. El tamaño lo publica {@link #encodedSize} como contadores
+ * auxiliares de JMH (loanRequestsBytes y clientsBytes), junto al resto de resultados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"50", "500"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private JavaType loanRequestListType;
+    private JavaType clientListType;
+
+    private List<LoanRequestResponseDTO> loanRequests;
+    private List<Client> clients;
+    private byte[] loanRequestsPayload;
+    private byte[] clientsPayload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = mapper(format);
+        loanRequestListType = objectMapper.getTypeFactory().constructCollectionType(List.class, LoanRequestResponseDTO.class);
+        clientListType = objectMapper.getTypeFactory().constructCollectionType(List.class, Client.class);
+
+        loanRequests = BenchmarkData.loanRequests(size);
+        clients = BenchmarkData.clients(size);
+        loanRequestsPayload = objectMapper.writeValueAsBytes(loanRequests);
+        clientsPayload = objectMapper.writeValueAsBytes(clients);
+    }
+
+    /**
+     * Tamaño en bytes de cada cuerpo. Los contadores EVENTS se suman entre iteraciones, así que
+     * {@link #encodedSize} se mide una sola vez.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long loanRequestsBytes;
+        public long clientsBytes;
+    }
+
+    // Los mismos ObjectMapper que usan los convertidores HTTP de la aplicación
+    private static ObjectMapper mapper(String format) {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        BinaryFormatsConfig binaryFormats = new BinaryFormatsConfig();
+        return switch (format) {
+            case "cbor" -> binaryFormats.cborHttpMessageConverter(builder).getObjectMapper();
+            case "smile" -> binaryFormats.smileHttpMessageConverter(builder).getObjectMapper();
+            default -> builder.build();
+        };
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void encodedSize(PayloadSize payloadSize) {
+        payloadSize.loanRequestsBytes = loanRequestsPayload.length;
+        payloadSize.clientsBytes = clientsPayload.length;
+    }
+
+    @Benchmark
+    public byte[] serializeLoanRequests() throws IOException {
+        return objectMapper.writeValueAsBytes(loanRequests);
+    }
+
+    @Benchmark
+    public List<LoanRequestResponseDTO> deserializeLoanRequests() throws IOException {
+        return objectMapper.readValue(loanRequestsPayload, loanRequestListType);
+    }
+
+    @Benchmark
+    public byte[] serializeClients() throws IOException {
+        return objectMapper.writeValueAsBytes(clients);
+    }
+
+    @Benchmark
+    public List<Client> deserializeClients() throws IOException {
+        return objectMapper.readValue(clientsPayload, clientListType);
+    }
+}
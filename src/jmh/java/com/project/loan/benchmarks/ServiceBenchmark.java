@@ -0,0 +1,124 @@
+package com.project.loan.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.project.loan.LoanApplication;
+import com.project.loan.cache.LoanRequestPageCache;
+import com.project.loan.dto.ChangeLoanStatusDTO;
+import com.project.loan.dto.CreateLoanRequestDTO;
+import com.project.loan.dto.CursorPageDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.mappers.ClientMapperImpl;
+import com.project.loan.models.Client;
+import com.project.loan.models.LoanStatus;
+import com.project.loan.services.ClientService;
+import com.project.loan.services.LoanRequestService;
+
+/**
+ * LoanRequestServiceImpl contra una base de datos H2 embebida en modo PostgreSQL. Mide el coste de
+ * la capa de servicio + JPA sin la red ni el servidor de base de datos real.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final int SEEDED_LOAN_REQUESTS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private LoanRequestService loanRequestService;
+    private LoanRequestPageCache loanRequestPageCache;
+
+    private CreateLoanRequestDTO createLoanRequestDTO;
+    private ChangeLoanStatusDTO approve;
+    private Long clientId;
+    private Long existingLoanRequestId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(LoanApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                        "spring.datasource.url", "jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username", "sa",
+                        "spring.datasource.password", "",
+                        "spring.jpa.hibernate.ddl-auto", "create-drop",
+                        "loan.outbox.dispatcher.enabled", "false",
+                        "logging.level.root", "WARN"))
+                .run();
+        loanRequestService = context.getBean(LoanRequestService.class);
+        loanRequestPageCache = context.getBean(LoanRequestPageCache.class);
+
+        Client client = new ClientMapperImpl().toEntity(BenchmarkData.createClientDTO());
+        clientId = context.getBean(ClientService.class).createClient(client).getId();
+        createLoanRequestDTO = BenchmarkData.createLoanRequestDTO(clientId);
+
+        List<CreateLoanRequestDTO> seed = new ArrayList<>(SEEDED_LOAN_REQUESTS);
+        for (int i = 0; i < SEEDED_LOAN_REQUESTS; i++) {
+            seed.add(BenchmarkData.createLoanRequestDTO(clientId));
+        }
+        existingLoanRequestId = loanRequestService.createLoanRequests(seed).get(SEEDED_LOAN_REQUESTS / 2).getId();
+
+        approve = new ChangeLoanStatusDTO();
+        approve.setStatus(LoanStatus.APPROVED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public LoanRequestResponseDTO createLoanRequest() {
+        return loanRequestService.createLoanRequest(createLoanRequestDTO);
+    }
+
+    @Benchmark
+    public LoanRequestResponseDTO createAndApproveLoanRequest() {
+        LoanRequestResponseDTO created = loanRequestService.createLoanRequest(createLoanRequestDTO);
+        return loanRequestService.updateLoanRequestStatus(created.getId(), approve, null).orElseThrow();
+    }
+
+    @Benchmark
+    public LoanRequestResponseDTO getLoanRequestById() {
+        return loanRequestService.getLoanRequestById(existingLoanRequestId).orElseThrow();
+    }
+
+    @Benchmark
+    public CursorPageDTO<LoanRequestResponseDTO> getFirstPage() {
+        return loanRequestService.getAllLoanRequests(null, null, null, null, null);
+    }
+
+    // Sin la caché de páginas: el coste de la consulta que paga cada fallo de caché
+    @Benchmark
+    public CursorPageDTO<LoanRequestResponseDTO> getFirstPageUncached() {
+        loanRequestPageCache.clear();
+        return loanRequestService.getAllLoanRequests(null, null, null, null, null);
+    }
+
+    @Benchmark
+    public CursorPageDTO<LoanRequestResponseDTO> getFirstPageByClient() {
+        return loanRequestService.getAllLoanRequests(LoanStatus.PENDING, clientId, "EUR", null, null);
+    }
+}
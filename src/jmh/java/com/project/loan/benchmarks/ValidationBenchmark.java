@@ -0,0 +1,82 @@
+package com.project.loan.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.loan.dto.CreateClientDTO;
+import com.project.loan.dto.CreateLoanRequestDTO;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private CreateLoanRequestDTO validLoanRequest;
+    private CreateLoanRequestDTO invalidLoanRequest;
+    private CreateClientDTO validClient;
+    private CreateClientDTO invalidClient;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validLoanRequest = BenchmarkData.createLoanRequestDTO(1L);
+        invalidLoanRequest = BenchmarkData.createLoanRequestDTO(1L);
+        invalidLoanRequest.setAmount(-5000.0);
+        invalidLoanRequest.setCurrency("INVALID");
+
+        validClient = BenchmarkData.createClientDTO();
+        invalidClient = BenchmarkData.createClientDTO();
+        invalidClient.setDni("12345678");
+        invalidClient.setEmail("no-es-un-email");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateLoanRequestDTO>> validLoanRequest() {
+        return validator.validate(validLoanRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateLoanRequestDTO>> invalidLoanRequest() {
+        return validator.validate(invalidLoanRequest);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateClientDTO>> validClient() {
+        return validator.validate(validClient);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CreateClientDTO>> invalidClient() {
+        return validator.validate(invalidClient);
+    }
+}
@@ -0,0 +1,245 @@
+package com.project.loan.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.project.loan.datasource.ReadYourWrites;
+import com.project.loan.datasource.ReplicaRoutingDataSource;
+import com.project.loan.events.ClientChangedEvent;
+import com.project.loan.models.Client;
+import com.project.loan.repo.ClientRepository;
+
+/**
+ * Caché en proceso de clientes indexada por ID, DNI y email.
+ *
+ * Los índices por DNI y email solo guardan el ID del cliente; la entidad vive únicamente en la
+ * caché por ID, de modo que una escritura solo tiene que reemplazar una entrada. Las instancias
+ * devueltas son compartidas y deben tratarse como de solo lectura.
+ *
+ * La caché solo se llena con filas de la base de datos principal: con réplicas, una fila leída de una
+ * réplica retrasada quedaría en caché hasta el TTL aunque ya se haya escrito una versión más nueva.
+ */
+@Component
+public class ClientCache implements MeterBinder {
+
+    private final ClientRepository clientRepository;
+
+    private final Cache<Long, Client> byId;
+    private final Cache<String, Long> idByDni;
+    private final Cache<String, Long> idByEmail;
+
+    // Contador de escrituras: permite descartar valores leídos de la base de datos durante una escritura concurrente
+    private final AtomicLong writes = new AtomicLong();
+
+    public ClientCache(ClientRepository clientRepository,
+                       @Value("${loan.cache.client.max-size:10000}") long maxSize,
+                       @Value("${loan.cache.client.ttl:10m}") Duration ttl) {
+        this.clientRepository = clientRepository;
+        this.byId = newCache(maxSize, ttl);
+        this.idByDni = newCache(maxSize, ttl);
+        this.idByEmail = newCache(maxSize, ttl);
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Client> getById(Long id) {
+        Client cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = writes.get();
+        Optional<Client> loaded = fromPrimary(() -> clientRepository.findById(id));
+        loaded.ifPresent(client -> cacheLoaded(client, stamp));
+        return loaded;
+    }
+
+    /**
+     * Devuelve el cliente solo si ya está en caché, sin consultar la base de datos.
+     */
+    public Optional<Client> peek(Long id) {
+        return Optional.ofNullable(byId.getIfPresent(id));
+    }
+
+    /**
+     * Resuelve varios clientes a la vez; los que no están en caché se cargan con una única consulta.
+     */
+    public Map<Long, Client> getAllById(Collection<Long> ids) {
+        Map<Long, Client> clients = new HashMap<>(byId.getAllPresent(ids));
+        List<Long> missing = ids.stream().filter(id -> !clients.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            long stamp = writes.get();
+            List<Client> loaded = fromPrimary(() -> clientRepository.findAllById(missing));
+            for (Client client : loaded) {
+                clients.put(client.getId(), client);
+                cacheLoaded(client, stamp);
+            }
+        }
+        return clients;
+    }
+
+    public Optional<Client> getByDni(String dni) {
+        return getByKey(idByDni, dni, Client::getDni, clientRepository::findByDni);
+    }
+
+    public Optional<Client> getByEmail(String email) {
+        return getByKey(idByEmail, email, Client::getEmail, clientRepository::findByEmail);
+    }
+
+    private Optional<Client> getByKey(Cache<String, Long> index, String key,
+                                      Function<Client, String> keyOf,
+                                      Function<String, Optional<Client>> loader) {
+        Long id = index.getIfPresent(key);
+        if (id != null) {
+            Optional<Client> client = getById(id);
+            if (client.isPresent() && key.equals(keyOf.apply(client.get()))) {
+                return client;
+            }
+            // El índice apuntaba a un cliente que ha cambiado de DNI/email o que se ha eliminado
+            index.asMap().remove(key, id);
+        }
+        long stamp = writes.get();
+        Optional<Client> loaded = fromPrimary(() -> loader.apply(key));
+        loaded.ifPresent(client -> cacheLoaded(client, stamp));
+        return loaded;
+    }
+
+    /**
+     * Lee de la principal aunque la consulta abra su propia transacción de solo lectura.
+     */
+    private static <T> T fromPrimary(Supplier<T> query) {
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.forcePrimary()) {
+            return query.get();
+        }
+    }
+
+    /**
+     * Guarda un cliente leído de la base de datos salvo que haya habido una escritura desde que empezó
+     * la lectura, en cuyo caso el valor podría estar obsoleto. La consulta se hace fuera de cualquier
+     * bloqueo de la caché para no bloquear (ni anclar a su carrier, con hilos virtuales) otros accesos.
+     *
+     * Si la transacción ya había tomado su conexión de una réplica, la fila se devuelve pero no se guarda.
+     */
+    private void cacheLoaded(Client client, long stamp) {
+        if (writes.get() != stamp || ReplicaRoutingDataSource.isCurrentTransactionOnReplica()) {
+            return;
+        }
+        insert(client);
+        if (writes.get() != stamp) {
+            byId.asMap().remove(client.getId(), client);
+        }
+    }
+
+    /**
+     * Aplica un cambio confirmado: desaloja de nuevo el cliente y sus claves anteriores (una lectura
+     * concurrente pudo volver a cargar la fila antigua antes del commit) y guarda la versión nueva.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        writes.incrementAndGet();
+        if (event.getPreviousDni() != null) {
+            idByDni.invalidate(event.getPreviousDni());
+        }
+        if (event.getPreviousEmail() != null) {
+            idByEmail.invalidate(event.getPreviousEmail());
+        }
+        evict(event.getClientId());
+        if (event.getClient() != null) {
+            insert(event.getClient());
+        }
+    }
+
+    public void put(Client client) {
+        writes.incrementAndGet();
+        insert(client);
+    }
+
+    private void insert(Client client) {
+        byId.put(client.getId(), client);
+        if (client.getDni() != null) {
+            idByDni.put(client.getDni(), client.getId());
+        }
+        if (client.getEmail() != null) {
+            idByEmail.put(client.getEmail(), client.getId());
+        }
+    }
+
+    /**
+     * Elimina el cliente y las entradas de sus índices. Las claves se toman de la versión
+     * cacheada y de la indicada, para cubrir también cambios de DNI o email.
+     */
+    public void evict(Client client) {
+        writes.incrementAndGet();
+        evictKeys(client);
+        evict(client.getId());
+    }
+
+    public void evict(Long id) {
+        writes.incrementAndGet();
+        Client cached = byId.getIfPresent(id);
+        if (cached != null) {
+            evictKeys(cached);
+        }
+        byId.invalidate(id);
+    }
+
+    private void evictKeys(Client client) {
+        if (client.getDni() != null) {
+            idByDni.invalidate(client.getDni());
+        }
+        if (client.getEmail() != null) {
+            idByEmail.invalidate(client.getEmail());
+        }
+    }
+
+    public void clear() {
+        writes.incrementAndGet();
+        byId.invalidateAll();
+        idByDni.invalidateAll();
+        idByEmail.invalidateAll();
+    }
+
+    /**
+     * Estadísticas de aciertos, fallos y desalojos de cada índice, para dimensionar la caché.
+     */
+    public Map<String, CacheStats> stats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("id", byId.stats());
+        stats.put("dni", idByDni.stats());
+        stats.put("email", idByEmail.stats());
+        return stats;
+    }
+
+    /**
+     * Publica las estadísticas de cada índice como métricas cache.* (cache=clients.id, clients.dni, clients.email).
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "clients.id");
+        CaffeineCacheMetrics.monitor(registry, idByDni, "clients.dni");
+        CaffeineCacheMetrics.monitor(registry, idByEmail, "clients.email");
+    }
+}
@@ -0,0 +1,183 @@
+package com.project.loan.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.project.loan.events.ClientChangedEvent;
+import com.project.loan.models.Client;
+import com.project.loan.repo.ClientRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice probabilístico (filtro de Bloom) de los DNI y emails existentes. Un "no" es definitivo y
+ * permite saltarse la consulta a la base de datos; un "quizá" hay que comprobarlo.
+ *
+ * Se carga al arrancar y se reconstruye periódicamente; entre medias se añaden las altas y cambios de
+ * esta instancia. Los borrados y los cambios de DNI/email dejan claves antiguas (solo falsos positivos)
+ * hasta la siguiente reconstrucción. Las altas de otras instancias no se ven hasta entonces, así que
+ * solo debe usarse donde un "no" erróneo lo corrige la restricción única (INSERT ... ON CONFLICT).
+ */
+@Slf4j
+@Component
+public class ClientKeyIndex implements MeterBinder {
+
+    private static final String DNI = "dni:";
+    private static final String EMAIL = "email:";
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Value("${loan.client-index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${loan.client-index.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${loan.client-index.min-capacity:100000}")
+    private long minCapacity;
+
+    // Null hasta la primera carga: mientras tanto todas las claves son posibles aciertos
+    private volatile BloomFilter filter;
+    // Durante una reconstrucción las altas se añaden también al filtro nuevo para no perderlas
+    private volatile BloomFilter rebuilding;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder possibleHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public boolean mightContainDni(String dni) {
+        return mightContain(DNI + dni);
+    }
+
+    public boolean mightContainEmail(String email) {
+        return mightContain(EMAIL + email);
+    }
+
+    private boolean mightContain(String key) {
+        BloomFilter current = filter;
+        boolean possible = current == null || current.mightContain(key);
+        (possible ? possibleHits : definiteMisses).increment();
+        return possible;
+    }
+
+    /**
+     * Posibles aciertos que la base de datos ha desmentido; con {@code possibleHits} da la tasa real
+     * de falsos positivos.
+     */
+    public void recordFalsePositives(long count) {
+        falsePositives.add(count);
+    }
+
+    public void add(Client client) {
+        if (client.getDni() != null) {
+            addKey(DNI + client.getDni());
+        }
+        if (client.getEmail() != null) {
+            addKey(EMAIL + client.getEmail());
+        }
+    }
+
+    // Solo claves confirmadas: las de una transacción revertida quedarían como falsos positivos
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onClientChanged(ClientChangedEvent event) {
+        if (event.getClient() != null) {
+            add(event.getClient());
+        }
+    }
+
+    private void addKey(String key) {
+        // Primero el filtro en reconstrucción: si ya se ha sustituido, el actual es el nuevo
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(key);
+        }
+        BloomFilter current = filter;
+        if (current != null && current != next) {
+            current.add(key);
+        }
+    }
+
+    /**
+     * Carga todas las claves en un filtro nuevo, dimensionado para el doble de los clientes actuales
+     * para absorber las altas hasta la siguiente reconstrucción, y lo sustituye al terminar.
+     *
+     * Se ejecuta en el executor de tareas para no retrasar el arranque: hasta la primera carga el filtro
+     * es null y todas las claves cuentan como posibles aciertos.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${loan.client-index.rebuild-interval:1h}",
+               initialDelayString = "${loan.client-index.rebuild-interval:1h}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // Las reconstrucciones no se solapan
+        rebuildLock.lock();
+        try {
+            long clients = clientRepository.count();
+            BloomFilter next = new BloomFilter(Math.max(minCapacity, clients * 2 * 2), falsePositiveRate);
+            rebuilding = next;
+            try (Stream<Object[]> keys = clientRepository.streamAllKeys()) {
+                keys.forEach(row -> {
+                    next.add(DNI + row[0]);
+                    if (row[1] != null) {
+                        next.add(EMAIL + row[1]);
+                    }
+                });
+                filter = next;
+            } finally {
+                rebuilding = null;
+            }
+            log.info("Client key index rebuilt: {} clients, capacity {} keys, {} KB",
+                    clients, next.expectedInsertions(), next.sizeInBytes() / 1024);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("loan.client.index.size", this, index -> index.filter == null ? 0 : index.filter.sizeInBytes())
+                .description("Memoria ocupada por el índice de DNI/email")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("loan.client.index.fill.ratio", this, index -> index.filter == null ? 0 : index.filter.fillRatio())
+                .description("Proporción de bits a 1 del filtro")
+                .register(registry);
+        Gauge.builder("loan.client.index.false.positive.rate", this,
+                        index -> index.filter == null ? 1 : index.filter.estimatedFalsePositiveRate())
+                .description("Tasa de falsos positivos estimada con el llenado actual")
+                .register(registry);
+        FunctionCounter.builder("loan.client.index.lookups", definiteMisses, LongAdder::sum)
+                .description("Consultas al índice de DNI/email")
+                .tag("result", "definite_miss")
+                .register(registry);
+        FunctionCounter.builder("loan.client.index.lookups", possibleHits, LongAdder::sum)
+                .description("Consultas al índice de DNI/email")
+                .tag("result", "possible_hit")
+                .register(registry);
+        FunctionCounter.builder("loan.client.index.false.positives", falsePositives, LongAdder::sum)
+                .description("Posibles aciertos del índice que no existían en la base de datos")
+                .register(registry);
+    }
+}
@@ -0,0 +1,110 @@
+package com.project.loan.cache;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.loan.dto.CursorPageDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.events.LoanRequestCreatedEvent;
+import com.project.loan.events.LoanStatusChangedEvent;
+import com.project.loan.models.LoanStatus;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caché de páginas del listado de solicitudes indexada por filtros, cursor y tamaño de página.
+ *
+ * Tras el commit de un alta o un cambio de estado solo se desalojan las páginas cuyos filtros cumple
+ * la fila modificada (con su estado anterior o el nuevo, su cliente y su divisa); el resto de
+ * combinaciones sigue en caché. Las páginas devueltas son compartidas y deben tratarse como de solo lectura.
+ */
+@Component
+public class LoanRequestPageCache implements MeterBinder {
+
+    private final Cache<Key, CursorPageDTO<LoanRequestResponseDTO>> pages;
+
+    // Contador de escrituras: descarta páginas leídas mientras se confirmaba una escritura
+    private final AtomicLong writes = new AtomicLong();
+
+    public LoanRequestPageCache(@Value("${loan.cache.loan-requests.max-size:1000}") long maxSize,
+                                @Value("${loan.cache.loan-requests.ttl:1m}") Duration ttl) {
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public CursorPageDTO<LoanRequestResponseDTO> get(Key key, Supplier<CursorPageDTO<LoanRequestResponseDTO>> loader) {
+        CursorPageDTO<LoanRequestResponseDTO> cached = pages.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // La consulta se hace fuera de la caché, como en ClientCache, para no bloquear otros accesos
+        long stamp = writes.get();
+        CursorPageDTO<LoanRequestResponseDTO> loaded = loader.get();
+        if (writes.get() == stamp) {
+            pages.put(key, loaded);
+            if (writes.get() != stamp) {
+                pages.asMap().remove(key, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanRequestCreated(LoanRequestCreatedEvent event) {
+        invalidate(EnumSet.of(event.getStatus()), event.getClientId(), event.getCurrency());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanStatusChanged(LoanStatusChangedEvent event) {
+        invalidate(EnumSet.of(event.getPreviousStatus(), event.getNewStatus()), event.getClientId(), event.getCurrency());
+    }
+
+    /**
+     * Desaloja las páginas en las que puede aparecer o dejar de aparecer una fila con alguno de los
+     * estados indicados, el cliente y la divisa dados. Recorre las claves en caché (como mucho max-size).
+     */
+    public void invalidate(Set<LoanStatus> statuses, Long clientId, String currency) {
+        writes.incrementAndGet();
+        pages.asMap().keySet().removeIf(key -> key.matches(statuses, clientId, currency));
+    }
+
+    public void clear() {
+        writes.incrementAndGet();
+        pages.invalidateAll();
+    }
+
+    /**
+     * Publica las estadísticas de la caché como métricas cache.* (cache=loanRequests.pages).
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, pages, "loanRequests.pages");
+    }
+
+    /**
+     * Filtros a null = sin filtrar por ese campo; {@code after} es el cursor recibido (null en la primera página).
+     */
+    public record Key(LoanStatus status, Long clientId, String currency, String after, int limit) {
+
+        boolean matches(Set<LoanStatus> statuses, Long rowClientId, String rowCurrency) {
+            return (status == null || statuses.contains(status))
+                    && (clientId == null || clientId.equals(rowClientId))
+                    && (currency == null || Objects.equals(currency, rowCurrency));
+        }
+    }
+}
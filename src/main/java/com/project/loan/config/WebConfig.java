@@ -1,21 +1,56 @@
 package com.project.loan.config;
 
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull; 
 
+import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import com.project.loan.controllers.LoanRequestController;
+import com.project.loan.datasource.ReadYourWritesInterceptor;
+import com.project.loan.datasource.SqlStatementStatsFilter;
+import com.project.loan.logging.AccessLogInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private AccessLogInterceptor accessLogInterceptor;
+
+    @Autowired
+    private ReadYourWritesInterceptor readYourWritesInterceptor;
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(accessLogInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(readYourWritesInterceptor).addPathPatterns("/api/**");
+        // El formato de la respuesta depende de Accept (JSON, CBOR o Smile): las cachés deben distinguirlos
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                     @NonNull Object handler) {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
 
         registry.addMapping("/**")
                 .allowedOrigins("*")  
-                .allowedMethods("GET", "POST", "PUT", "DELETE") 
-                .allowedHeaders("*");  
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE") 
+                .allowedHeaders("*")
+                .exposedHeaders(LoanRequestController.NEXT_CURSOR_HEADER, HttpHeaders.ETAG,
+                        SqlStatementStatsFilter.STATEMENTS_HEADER, SqlStatementStatsFilter.TIME_HEADER);
     }
 }
@@ -1,9 +1,12 @@
 package com.project.loan.controllers;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.project.loan.models.Client;
+import com.project.loan.dto.ClientImportResultDTO;
 import com.project.loan.dto.CreateClientDTO;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -11,6 +14,8 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RequestMapping("/api/client")
@@ -31,25 +36,48 @@ public interface ClientController {
     @Operation(summary = "Obtener cliente por ID", 
                description = "Devuelve un cliente específico por su ID")
     @ApiResponse(responseCode = "200", description = "Usuario encontrado")
+    @ApiResponse(responseCode = "304", description = "El cliente no ha cambiado desde el ETag indicado")
     ResponseEntity<Client> getClientById(
             @Parameter(description = "ID del cliente", required = true)
-            @PathVariable Long id);
+            @PathVariable Long id,
+            @Parameter(description = "ETag de la última versión conocida")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     @PostMapping
     @Operation(summary = "Crear nuevo cliente", 
                description = "Crea un nuevo cliente en el sistema")
     @ApiResponse(responseCode = "201", description = "Usuario creado exitosamente")
+    @ApiResponse(responseCode = "409", description = "Ya existe un cliente con ese DNI o email")
     ResponseEntity<Client> createClient(
             @Parameter(description = "Datos del cliente a crear", required = true)
             @RequestBody CreateClientDTO createClientDTO);
 
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @Operation(summary = "Importar clientes (CSV)", 
+               description = "Crea los clientes de un CSV con cabecera (name, dni y opcionalmente email). "
+                       + "Las filas no válidas o con DNI/email ya existente se rechazan sin detener la importación")
+    @ApiResponse(responseCode = "200", description = "Importación procesada; incluye el resumen y las filas rechazadas")
+    @ApiResponse(responseCode = "400", description = "Cabecera ausente o no válida")
+    ResponseEntity<ClientImportResultDTO> importClientsCsv(InputStream body) throws IOException;
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Importar clientes (NDJSON)", 
+               description = "Crea los clientes de un cuerpo NDJSON (un cliente por línea). "
+                       + "Las filas no válidas o con DNI/email ya existente se rechazan sin detener la importación")
+    @ApiResponse(responseCode = "200", description = "Importación procesada; incluye el resumen y las filas rechazadas")
+    ResponseEntity<ClientImportResultDTO> importClientsNdjson(InputStream body) throws IOException;
+
     @PutMapping("/{id}")
     @Operation(summary = "Actualizar cliente", 
                description = "Actualiza un cliente existente por su ID")
     @ApiResponse(responseCode = "200", description = "Usuario actualizado exitosamente")
+    @ApiResponse(responseCode = "409", description = "Ya existe un cliente con ese DNI o email")
+    @ApiResponse(responseCode = "412", description = "El cliente ha cambiado desde el ETag indicado en If-Match")
     ResponseEntity<Client> updateClient(
             @Parameter(description = "ID del cliente a actualizar", required = true)
             @PathVariable Long id,
+            @Parameter(description = "ETag de la versión sobre la que se hace el cambio")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Datos actualizados del cliente", required = true)
             @RequestBody Client client);
 
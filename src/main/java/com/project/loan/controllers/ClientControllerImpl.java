@@ -1,13 +1,23 @@
 package com.project.loan.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.project.loan.dto.ClientImportResultDTO;
 import com.project.loan.dto.CreateClientDTO;
+import com.project.loan.dto.ErrorResponseDTO;
+import com.project.loan.exceptions.ClientConflictException;
+import com.project.loan.exceptions.PreconditionFailedException;
+import com.project.loan.imports.ClientImporter;
+import com.project.loan.logging.AccessLog;
 import com.project.loan.mappers.ClientMapper;
 import com.project.loan.models.Client;
 import com.project.loan.services.ClientService;
@@ -25,35 +35,42 @@ public class ClientControllerImpl implements ClientController {
     @Autowired
     private ClientMapper userMapper;
 
+    @Autowired
+    private ClientImporter clientImporter;
+
     @Override
     public ResponseEntity<List<Client>> getAllClients(String email, String dni) {
-        log.info("[GET] getAllClients called with email={}, dni={}", email, dni);
         List<Client> clients = clientService.getAllClients(email, dni);
         return ResponseEntity.ok(clients);
     }
 
     @Override
-    public ResponseEntity<Client> getClientById(Long id) {
-        log.info("[GET] getClientById called with id={}", id);
+    public ResponseEntity<Client> getClientById(Long id, String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            // Se comprueba solo la versión; si no ha cambiado no se carga ni se serializa el cliente
+            Optional<Long> version = clientService.getClientVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (ETags.noneMatch(ifNoneMatch, version.get())) {
+                return ETags.notModified(version.get());
+            }
+        }
         return clientService.getClientById(id)
-                .map(client -> {
-                    log.info("[GET] Client found for id={}", id);
-                    return ResponseEntity.ok(client);
-                })
-                .orElseGet(() -> {
-                    log.warn("[GET] Client not found for id={}", id);
-                    return ResponseEntity.notFound().build();
-                });
+                .map(client -> ETags.withETag(ResponseEntity.ok(), client.getVersion()).body(client))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @Override
     public ResponseEntity<Client> createClient(@Valid CreateClientDTO createClientDTO) {
-        log.info("[POST] createClient called with DTO: {}", createClientDTO);
+        AccessLog.payload(() -> "dni=" + createClientDTO.getDni());
         try {
             Client client = userMapper.toEntity(createClientDTO);
             Client savedClient = clientService.createClient(client);
-            log.info("[POST] Client created with id={}", savedClient.getId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedClient);
+            return ETags.withETag(ResponseEntity.status(HttpStatus.CREATED), savedClient.getVersion()).body(savedClient);
+        } catch (ClientConflictException e) {
+            log.warn("[POST] Client conflict on {}: {}", e.getField(), e.getMessage());
+            throw e;
         } catch (RuntimeException e) {
             log.error("[POST] Error creating Client: {}", e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
@@ -61,18 +78,39 @@ public class ClientControllerImpl implements ClientController {
     }
 
     @Override
-    public ResponseEntity<Client> updateClient(Long id, @Valid Client clientDetails) {
-        log.info("[PUT] updateClient called with id={}, clientDetails={}", id, clientDetails);
+    public ResponseEntity<ClientImportResultDTO> importClientsCsv(InputStream body) throws IOException {
         try {
-            return clientService.updateClient(id, clientDetails)
-                    .map(client -> {
-                        log.info("[PUT] Client updated for id={}", id);
-                        return ResponseEntity.ok(client);
-                    })
-                    .orElseGet(() -> {
-                        log.warn("[PUT] Client not found for id={}", id);
-                        return ResponseEntity.notFound().build();
-                    });
+            return imported(clientImporter.importCsv(body));
+        } catch (IllegalArgumentException e) {
+            log.warn("[POST] Rejected CSV client import: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<ClientImportResultDTO> importClientsNdjson(InputStream body) throws IOException {
+        return imported(clientImporter.importNdjson(body));
+    }
+
+    private ResponseEntity<ClientImportResultDTO> imported(ClientImportResultDTO result) {
+        AccessLog.payload(() -> "received=" + result.getReceived() + ", imported=" + result.getImported()
+                + ", rejected=" + result.getRejected());
+        return ResponseEntity.ok(result);
+    }
+
+    @Override
+    public ResponseEntity<Client> updateClient(Long id, String ifMatch, @Valid Client clientDetails) {
+        AccessLog.payload(() -> "id=" + id + ", ifMatch=" + ifMatch + ", dni=" + clientDetails.getDni());
+        try {
+            Long expectedVersion = ETags.expectedVersion(ifMatch);
+            return clientService.updateClient(id, clientDetails, expectedVersion)
+                    .map(client -> ETags.withETag(ResponseEntity.ok(), client.getVersion()).body(client))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (PreconditionFailedException e) {
+            return ETags.preconditionFailed(e);
+        } catch (ClientConflictException e) {
+            log.warn("[PUT] Client conflict on {} for id={}: {}", e.getField(), id, e.getMessage());
+            throw e;
         } catch (RuntimeException e) {
             log.error("[PUT] Error updating User for id={}: {}", id, e.getMessage(), e);
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
@@ -81,12 +119,14 @@ public class ClientControllerImpl implements ClientController {
 
     @Override
     public ResponseEntity<Void> deleteClient(Long id) {
-        log.info("[DELETE] deleteClient called with id={}", id);
         if (clientService.deleteClient(id)) {
-            log.info("[DELETE] Client deleted for id={}", id);
             return ResponseEntity.noContent().build();
         }
-        log.warn("[DELETE] Client not found for id={}", id);
         return ResponseEntity.notFound().build();
     }
+
+    @ExceptionHandler(ClientConflictException.class)
+    public ResponseEntity<ErrorResponseDTO> handleClientConflict(ClientConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponseDTO(e.getField(), e.getMessage()));
+    }
 }
\ No newline at end of file
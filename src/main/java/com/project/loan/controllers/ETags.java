@@ -0,0 +1,74 @@
+package com.project.loan.controllers;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.project.loan.exceptions.PreconditionFailedException;
+
+/**
+ * ETags fuertes a partir de la columna de versión de cada recurso.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder response, Long version) {
+        return version == null ? response : response.eTag(of(version));
+    }
+
+    static <T> ResponseEntity<T> notModified(Long version) {
+        return withETag(ResponseEntity.status(HttpStatus.NOT_MODIFIED), version).build();
+    }
+
+    static <T> ResponseEntity<T> preconditionFailed(PreconditionFailedException e) {
+        return withETag(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED), e.getCurrentVersion()).build();
+    }
+
+    /**
+     * Comparación débil de If-None-Match: admite listas, etiquetas W/ y "*".
+     */
+    static boolean noneMatch(String ifNoneMatch, Long version) {
+        if (ifNoneMatch == null || version == null) {
+            return false;
+        }
+        String etag = of(version);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Versión exigida por If-Match, o null si la cabecera no se envía o es "*". If-Match usa comparación
+     * fuerte: una etiqueta débil, una lista o un valor que no sea una de nuestras etiquetas nunca
+     * coincide y la precondición falla.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() >= 3 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException e) {
+                // No es una etiqueta generada por este servicio
+            }
+        }
+        throw new PreconditionFailedException("If-Match no coincide con ninguna versión del recurso: " + ifMatch, null);
+    }
+}
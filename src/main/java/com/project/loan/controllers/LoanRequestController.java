@@ -1,7 +1,11 @@
 package com.project.loan.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -9,11 +13,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.project.loan.config.BinaryFormatsConfig;
+import com.project.loan.dto.BatchItemResultDTO;
+import com.project.loan.dto.BulkChangeLoanStatusDTO;
 import com.project.loan.dto.ChangeLoanStatusDTO;
 import com.project.loan.dto.CreateLoanRequestDTO;
-import com.project.loan.models.LoanRequest;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.dto.PortfolioStatsDTO;
+import com.project.loan.dto.StatusTransitionResultDTO;
 import com.project.loan.models.LoanStatus;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -25,41 +36,111 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Loan Requests", description = "API para gestión de solicitudes de préstamos")
 public interface LoanRequestController {
 
+    String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @GetMapping
     @Operation(summary = "Obtener todas las solicitudes de préstamo", 
-               description = "Devuelve una lista de todas las solicitudes con filtros opcionales")
+               description = "Devuelve una página de solicitudes ordenadas por fecha de creación con filtros opcionales. "
+                       + "El cursor de la siguiente página se devuelve en la cabecera " + NEXT_CURSOR_HEADER)
     @ApiResponse(responseCode = "200", description = "Lista de solicitudes obtenida exitosamente")
-    ResponseEntity<List<LoanRequest>> getAllLoanRequests(
+    ResponseEntity<List<LoanRequestResponseDTO>> getAllLoanRequests(
+            @Parameter(description = "Filtrar por estado de la solicitud")
+            @RequestParam(required = false) LoanStatus status,
+            @Parameter(description = "Filtrar por ID del cliente solicitante")
+            @RequestParam(required = false) Long ClientId,
+            @Parameter(description = "Filtrar por divisa")
+            @RequestParam(required = false) String currency,
+            @Parameter(description = "Cursor opaco devuelto por la página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Número máximo de solicitudes por página (1-500, por defecto 50)")
+            @RequestParam(required = false) Integer limit);
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar solicitudes de préstamo", 
+               description = "Devuelve todas las solicitudes que cumplen los filtros en formato NDJSON o CSV, "
+                       + "escritas a medida que se leen de la base de datos")
+    @ApiResponse(responseCode = "200", description = "Extracto generado exitosamente")
+    @ApiResponse(responseCode = "400", description = "Formato no soportado")
+    ResponseEntity<StreamingResponseBody> exportLoanRequests(
             @Parameter(description = "Filtrar por estado de la solicitud")
             @RequestParam(required = false) LoanStatus status,
             @Parameter(description = "Filtrar por ID del cliente solicitante")
             @RequestParam(required = false) Long ClientId,
             @Parameter(description = "Filtrar por divisa")
-            @RequestParam(required = false) String currency);
+            @RequestParam(required = false) String currency,
+            @Parameter(description = "Formato del extracto: ndjson o csv")
+            @RequestParam(defaultValue = "ndjson") String format);
+
+    @GetMapping("/stats")
+    @Operation(summary = "Obtener estadísticas de la cartera", 
+               description = "Devuelve el número de solicitudes y el importe total por estado y divisa. "
+                       + "Los agregados se mantienen en memoria y no consultan la base de datos")
+    @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente")
+    ResponseEntity<PortfolioStatsDTO> getPortfolioStats();
+
+    @PostMapping("/stats/reconcile")
+    @Operation(summary = "Reconciliar estadísticas de la cartera", 
+               description = "Recalcula los agregados desde la base de datos y devuelve el resultado")
+    @ApiResponse(responseCode = "200", description = "Estadísticas recalculadas exitosamente")
+    ResponseEntity<PortfolioStatsDTO> reconcilePortfolioStats();
 
     @GetMapping("/{id}")
     @Operation(summary = "Obtener solicitud por ID", 
                description = "Devuelve una solicitud específica por su ID")
     @ApiResponse(responseCode = "200", description = "Solicitud encontrada")
-    ResponseEntity<LoanRequest> getLoanRequestById(
+    @ApiResponse(responseCode = "202", description = "Solicitud aceptada con escritura diferida y aún no guardada")
+    @ApiResponse(responseCode = "304", description = "La solicitud no ha cambiado desde el ETag indicado")
+    ResponseEntity<LoanRequestResponseDTO> getLoanRequestById(
             @Parameter(description = "ID de la solicitud", required = true)
-            @PathVariable Long id);
+            @PathVariable Long id,
+            @Parameter(description = "ETag de la última versión conocida")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     @PostMapping
     @Operation(summary = "Crear nueva solicitud de préstamo", 
                description = "Crea una nueva solicitud de préstamo en el sistema")
     @ApiResponse(responseCode = "201", description = "Solicitud creada exitosamente")
-    ResponseEntity<LoanRequest> createLoanRequest(
+    @ApiResponse(responseCode = "202", description = "Solicitud aceptada para guardarla en diferido (loan.write-behind.enabled); "
+            + "la cabecera Location indica dónde consultarla")
+    @ApiResponse(responseCode = "503", description = "La cola de escritura diferida está llena; reintentar más tarde")
+    ResponseEntity<LoanRequestResponseDTO> createLoanRequest(
             @Parameter(description = "Datos de la solicitud a crear", required = true)
             @RequestBody CreateLoanRequestDTO createLoanRequestDTO);
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            BinaryFormatsConfig.APPLICATION_SMILE_VALUE})
+    @Operation(summary = "Crear solicitudes de préstamo por lotes", 
+               description = "Crea un lote de solicitudes a partir de un array JSON (o CBOR/Smile) y devuelve el resultado de cada elemento")
+    @ApiResponse(responseCode = "200", description = "Lote procesado; cada elemento indica si se ha creado o rechazado")
+    ResponseEntity<List<BatchItemResultDTO>> createLoanRequestsBatch(
+            @Parameter(description = "Solicitudes a crear", required = true)
+            @RequestBody List<CreateLoanRequestDTO> createLoanRequestDTOs);
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Crear solicitudes de préstamo por lotes (NDJSON)", 
+               description = "Crea un lote de solicitudes a partir de un cuerpo NDJSON (una solicitud por línea)")
+    @ApiResponse(responseCode = "200", description = "Lote procesado; cada elemento indica si se ha creado o rechazado")
+    ResponseEntity<List<BatchItemResultDTO>> createLoanRequestsBatchNdjson(InputStream body) throws IOException;
+
     @PatchMapping("/{id}/status")
     @Operation(summary = "Actualizar estado de solicitud", 
                description = "Actualiza el estado de una solicitud de préstamo")
     @ApiResponse(responseCode = "200", description = "Estado actualizado exitosamente")
-    ResponseEntity<LoanRequest> updateLoanRequestStatus(
+    @ApiResponse(responseCode = "412", description = "La solicitud ha cambiado desde el ETag indicado en If-Match")
+    ResponseEntity<LoanRequestResponseDTO> updateLoanRequestStatus(
             @Parameter(description = "ID de la solicitud", required = true)
             @PathVariable Long id,
+            @Parameter(description = "ETag de la versión sobre la que se hace el cambio")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Nuevo estado de la solicitud (ejemplo: {\"status\": \"APPROVED\"})", required = true)
             @RequestBody ChangeLoanStatusDTO changeLoanStatusDTO);
-}
\ No newline at end of file
+
+    @PatchMapping("/status")
+    @Operation(summary = "Actualizar el estado de varias solicitudes", 
+               description = "Aplica el mismo cambio de estado a una lista de solicitudes en una única transacción "
+                       + "y devuelve el resultado de cada una (APPLIED, INVALID_TRANSITION o NOT_FOUND)")
+    @ApiResponse(responseCode = "200", description = "Lote procesado; cada elemento indica el resultado de su solicitud")
+    ResponseEntity<List<StatusTransitionResultDTO>> updateLoanRequestStatuses(
+            @Parameter(description = "IDs de las solicitudes y nuevo estado (ejemplo: {\"ids\": [1, 2], \"status\": \"APPROVED\"})", required = true)
+            @RequestBody BulkChangeLoanStatusDTO bulkChangeLoanStatusDTO);
+}
@@ -1,17 +1,41 @@
 package com.project.loan.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.loan.dto.BatchItemResultDTO;
+import com.project.loan.dto.BulkChangeLoanStatusDTO;
 import com.project.loan.dto.ChangeLoanStatusDTO;
 import com.project.loan.dto.CreateLoanRequestDTO;
-import com.project.loan.models.LoanRequest;
+import com.project.loan.dto.CursorPageDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.dto.PortfolioStatsDTO;
+import com.project.loan.dto.StatusTransitionResultDTO;
+import com.project.loan.exceptions.PreconditionFailedException;
+import com.project.loan.exceptions.WriteBehindRejectedException;
+import com.project.loan.export.ExportFormat;
+import com.project.loan.export.LoanRequestExporter;
+import com.project.loan.logging.AccessLog;
 import com.project.loan.models.LoanStatus;
 import com.project.loan.services.LoanRequestService;
+import com.project.loan.services.PortfolioStatsService;
+import com.project.loan.writebehind.LoanRequestWriteBehind;
 
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
@@ -25,32 +49,103 @@ public class LoanRequestControllerImpl implements LoanRequestController {
     @Autowired
     private LoanRequestService loanRequestService;
 
+    @Autowired
+    private PortfolioStatsService portfolioStatsService;
+
+    @Autowired
+    private LoanRequestExporter loanRequestExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Solo existe con loan.write-behind.enabled=true
+    @Autowired(required = false)
+    private LoanRequestWriteBehind loanRequestWriteBehind;
+
+    @Value("${loan.batch.max-items:10000}")
+    private int maxBatchItems;
+
+    @Override
+    public ResponseEntity<List<LoanRequestResponseDTO>> getAllLoanRequests(LoanStatus status, Long clientId, String currency,
+                                                                String after, Integer limit) {
+        try {
+            CursorPageDTO<LoanRequestResponseDTO> page = loanRequestService.getAllLoanRequests(status, clientId, currency, after, limit);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getItems());
+        } catch (RuntimeException e) {
+            log.error("[GET] Error listing LoanRequests: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Override
-    public ResponseEntity<List<LoanRequest>> getAllLoanRequests(LoanStatus status, Long clientId, String currency) {
-        log.info("[GET] getAllLoanRequests called with status={}, clientId={}, currency={}", status, clientId, currency);
-        List<LoanRequest> loanRequests = loanRequestService.getAllLoanRequests(status, clientId, currency);
-        return ResponseEntity.ok(loanRequests);
+    public ResponseEntity<StreamingResponseBody> exportLoanRequests(LoanStatus status, Long clientId, String currency,
+                                                                    String format) {
+        AccessLog.payload(() -> "format=" + format + ", status=" + status + ", clientId=" + clientId
+                + ", currency=" + currency);
+        return ExportFormat.fromParameter(format)
+                .map(exportFormat -> ResponseEntity.ok()
+                        .contentType(exportFormat.getMediaType())
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                "attachment; filename=\"loan-requests." + exportFormat.getExtension() + "\"")
+                        .body((StreamingResponseBody) out ->
+                                loanRequestExporter.export(exportFormat, status, clientId, currency, out)))
+                .orElseGet(() -> ResponseEntity.badRequest().build());
     }
 
     @Override
-    public ResponseEntity<LoanRequest> getLoanRequestById(Long id) {
-        log.info("[GET] getLoanRequestById called with id={}", id);
+    public ResponseEntity<PortfolioStatsDTO> getPortfolioStats() {
+        return ResponseEntity.ok(portfolioStatsService.getStats());
+    }
+
+    @Override
+    public ResponseEntity<PortfolioStatsDTO> reconcilePortfolioStats() {
+        return ResponseEntity.ok(portfolioStatsService.reconcile());
+    }
+
+    @Override
+    public ResponseEntity<LoanRequestResponseDTO> getLoanRequestById(Long id, String ifNoneMatch) {
+        // Aceptada pero aún en la cola de escritura diferida: todavía no tiene versión ni ETag
+        if (loanRequestWriteBehind != null) {
+            Optional<LoanRequestResponseDTO> pending = loanRequestWriteBehind.getPending(id);
+            if (pending.isPresent()) {
+                return ResponseEntity.accepted().body(pending.get());
+            }
+        }
+        if (ifNoneMatch != null) {
+            // Se comprueba solo la versión; si no ha cambiado no se carga ni se serializa la solicitud
+            Optional<Long> version = loanRequestService.getLoanRequestVersion(id);
+            if (version.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            if (ETags.noneMatch(ifNoneMatch, version.get())) {
+                return ETags.notModified(version.get());
+            }
+        }
         return loanRequestService.getLoanRequestById(id)
-                .map(loanRequest -> {                    
-                    return ResponseEntity.ok(loanRequest);
-                })
-                .orElseGet(() -> {                    
-                    return ResponseEntity.notFound().build();
-                });
+                .map(loanRequest -> ETags.withETag(ResponseEntity.ok(), loanRequest.getVersion()).body(loanRequest))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     @Override
-    public ResponseEntity<LoanRequest> createLoanRequest(@Valid CreateLoanRequestDTO createLoanRequestDTO) {
-        log.info("[POST] createLoanRequest called with DTO: {}", createLoanRequestDTO);
+    public ResponseEntity<LoanRequestResponseDTO> createLoanRequest(@Valid CreateLoanRequestDTO createLoanRequestDTO) {
+        AccessLog.payload(() -> "clientId=" + createLoanRequestDTO.getClientId()
+                + ", amount=" + createLoanRequestDTO.getAmount() + ", currency=" + createLoanRequestDTO.getCurrency());
         try {
-            LoanRequest savedLoanRequest = loanRequestService.createLoanRequest(createLoanRequestDTO);
-            log.info("[POST] LoanRequest created with id={}", savedLoanRequest.getId());
+            if (loanRequestWriteBehind != null) {
+                LoanRequestResponseDTO accepted = loanRequestWriteBehind.submit(createLoanRequestDTO);
+                URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+                        .buildAndExpand(accepted.getId()).toUri();
+                return ResponseEntity.accepted().location(location).body(accepted);
+            }
+            LoanRequestResponseDTO savedLoanRequest = loanRequestService.createLoanRequest(createLoanRequestDTO);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedLoanRequest);
+        } catch (WriteBehindRejectedException e) {
+            log.warn("[POST] LoanRequest rejected by write-behind queue: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
         } catch (RuntimeException e) {
             log.error("[POST] Error creating LoanRequest: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().build();
@@ -58,21 +153,67 @@ public class LoanRequestControllerImpl implements LoanRequestController {
     }
 
     @Override
-    public ResponseEntity<LoanRequest> updateLoanRequestStatus(Long id, ChangeLoanStatusDTO changeLoanStatusDTO) {
-        log.info("[PATCH] updateLoanRequestStatus called with id={}, DTO: {}", id, changeLoanStatusDTO);
+    public ResponseEntity<List<BatchItemResultDTO>> createLoanRequestsBatch(List<CreateLoanRequestDTO> createLoanRequestDTOs) {
+        AccessLog.payload(() -> "items=" + createLoanRequestDTOs.size());
+        return processBatch(createLoanRequestDTOs);
+    }
+
+    @Override
+    public ResponseEntity<List<BatchItemResultDTO>> createLoanRequestsBatchNdjson(InputStream body) throws IOException {
+        List<CreateLoanRequestDTO> createLoanRequestDTOs = new ArrayList<>();
+        try (MappingIterator<CreateLoanRequestDTO> lines = objectMapper.readerFor(CreateLoanRequestDTO.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                if (createLoanRequestDTOs.size() == maxBatchItems) {
+                    log.warn("[POST] NDJSON batch exceeds {} items", maxBatchItems);
+                    return ResponseEntity.badRequest().build();
+                }
+                createLoanRequestDTOs.add(lines.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            log.error("[POST] Malformed NDJSON batch: {}", e.getOriginalMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        AccessLog.payload(() -> "items=" + createLoanRequestDTOs.size());
+        return processBatch(createLoanRequestDTOs);
+    }
+
+    private ResponseEntity<List<BatchItemResultDTO>> processBatch(List<CreateLoanRequestDTO> createLoanRequestDTOs) {
+        try {
+            List<BatchItemResultDTO> results = loanRequestService.createLoanRequests(createLoanRequestDTOs);
+            return ResponseEntity.ok(results);
+        } catch (RuntimeException e) {
+            log.error("[POST] Error creating LoanRequest batch: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<LoanRequestResponseDTO> updateLoanRequestStatus(Long id, String ifMatch,
+                                                                          ChangeLoanStatusDTO changeLoanStatusDTO) {
+        AccessLog.payload(() -> "id=" + id + ", ifMatch=" + ifMatch + ", status=" + changeLoanStatusDTO.getStatus());
         try {
-            return loanRequestService.updateLoanRequestStatus(id, changeLoanStatusDTO)
-                    .map(loanRequest -> {
-                        log.info("[PATCH] LoanRequest status updated for id={}", id);
-                        return ResponseEntity.ok(loanRequest);
-                    })
-                    .orElseGet(() -> {
-                        log.warn("[PATCH] LoanRequest not found for id={}", id);
-                        return ResponseEntity.notFound().build();
-                    });
+            Long expectedVersion = ETags.expectedVersion(ifMatch);
+            return loanRequestService.updateLoanRequestStatus(id, changeLoanStatusDTO, expectedVersion)
+                    .map(loanRequest -> ETags.withETag(ResponseEntity.ok(), loanRequest.getVersion()).body(loanRequest))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (PreconditionFailedException e) {
+            return ETags.preconditionFailed(e);
         } catch (RuntimeException e) {
             log.error("[PATCH] Error updating LoanRequest status for id={}: {}", id, e.getMessage(), e);
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public ResponseEntity<List<StatusTransitionResultDTO>> updateLoanRequestStatuses(
+            BulkChangeLoanStatusDTO bulkChangeLoanStatusDTO) {
+        AccessLog.payload(() -> "items=" + (bulkChangeLoanStatusDTO.getIds() == null ? 0 : bulkChangeLoanStatusDTO.getIds().size())
+                + ", status=" + bulkChangeLoanStatusDTO.getStatus());
+        try {
+            return ResponseEntity.ok(loanRequestService.updateLoanRequestStatuses(bulkChangeLoanStatusDTO));
+        } catch (RuntimeException e) {
+            log.error("[PATCH] Error updating LoanRequest statuses: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.project.loan.datasource;
+
+/**
+ * Fuerza que las lecturas del hilo actual vayan a la base de datos principal aunque se ejecuten en
+ * una transacción de solo lectura, para ver escrituras recientes que las réplicas aún no tienen.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(FORCE_PRIMARY.get());
+    }
+
+    /**
+     * Activa la lectura desde la principal hasta que se cierre el ámbito devuelto.
+     */
+    public static Scope forcePrimary() {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(previous);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.loan.datasource;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Las peticiones con la cabecera {@value #HEADER}: true leen de la base de datos principal.
+ */
+@Component
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+    private static final String SCOPE_ATTRIBUTE = ReadYourWritesInterceptor.class.getName() + ".scope";
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (Boolean.parseBoolean(request.getHeader(HEADER))) {
+            request.setAttribute(SCOPE_ATTRIBUTE, ReadYourWrites.forcePrimary());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, @Nullable Exception ex) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof ReadYourWrites.Scope scope) {
+            request.removeAttribute(SCOPE_ATTRIBUTE);
+            scope.close();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.loan.datasource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Réplicas de lectura (loan.datasource.*). Usuario y contraseña se heredan de spring.datasource si
+ * no se indican.
+ */
+@Data
+@ConfigurationProperties(prefix = "loan.datasource")
+public class ReplicaDataSourceProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Tiempo durante el que no se usa una réplica tras fallar al obtener conexión
+    private Duration replicaCooldown = Duration.ofSeconds(30);
+
+    @Data
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
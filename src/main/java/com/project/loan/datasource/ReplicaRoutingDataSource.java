@@ -0,0 +1,155 @@
+package com.project.loan.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Envía las transacciones de solo lectura a las réplicas (por turnos) y todo lo demás a la base de
+ * datos principal. Si una réplica no entrega conexión se usa la principal y la réplica se descarta
+ * durante el tiempo de enfriamiento.
+ *
+ * Debe envolverse en un LazyConnectionDataSourceProxy: el gestor de transacciones pide la conexión
+ * antes de marcar la transacción como de solo lectura, y el proxy retrasa la elección hasta la
+ * primera sentencia.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    // Recurso de la transacción que indica que su conexión es de una réplica
+    private static final Object REPLICA_CONNECTION = new Object();
+
+    private final DataSource primary;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final Map<String, DataSource> replicas = new HashMap<>();
+    private final Map<String, Long> downUntil = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final long cooldownNanos;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration cooldown) {
+        this.primary = primary;
+        this.cooldownNanos = cooldown.toNanos();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            this.replicas.put(key, replicas.get(i));
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.isActive()) {
+            return PRIMARY;
+        }
+        int size = replicaKeys.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        long now = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            String key = replicaKeys.get((start + i) % size);
+            Long until = downUntil.get(key);
+            if (until == null || until - now <= 0) {
+                return key;
+            }
+        }
+        return PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    /**
+     * Ambas variantes de getConnection eligen el destino y hacen la misma caída a la principal.
+     */
+    private Connection route(ConnectionSource source) throws SQLException {
+        Object key = determineCurrentLookupKey();
+        DataSource replica = replicas.get(key);
+        if (replica == null) {
+            return source.connect(primary);
+        }
+        try {
+            Connection connection = source.connect(replica);
+            downUntil.remove(key);
+            markReplicaConnection(key);
+            return connection;
+        } catch (SQLException e) {
+            downUntil.put((String) key, System.nanoTime() + cooldownNanos);
+            log.warn("Replica {} unavailable, reading from primary for {} ms: {}", key,
+                    Duration.ofNanos(cooldownNanos).toMillis(), e.getMessage());
+            return source.connect(primary);
+        }
+    }
+
+    /**
+     * Indica si la transacción actual ya lee de una réplica. A partir de ese momento
+     * {@link ReadYourWrites#forcePrimary()} no cambia su conexión.
+     */
+    public static boolean isCurrentTransactionOnReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_CONNECTION);
+    }
+
+    private static void markReplicaConnection(Object key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(REPLICA_CONNECTION)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(REPLICA_CONNECTION, key);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_CONNECTION);
+            }
+        });
+    }
+
+    boolean isDown(String key) {
+        Long until = downUntil.get(key);
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    /**
+     * Cierra los pools de las réplicas; el de la principal tiene su propio ciclo de vida.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.loan.datasource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sentencias SQL y tiempo en base de datos acumulados por el hilo actual mientras hay un ámbito
+ * abierto (en la API, uno por petición HTTP). Fuera de un ámbito las sentencias no se contabilizan.
+ *
+ * Cada ejecución cuenta como un viaje a la base de datos; un batch JDBC cuenta como uno solo y no
+ * interviene en la detección de N+1, porque repetir el mismo batch es precisamente lo que se busca.
+ */
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long nanos;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+
+    private SqlStatementStats() {
+    }
+
+    /**
+     * Abre un ámbito de contabilización en el hilo actual hasta que se cierre el ámbito devuelto.
+     */
+    public static Scope open() {
+        SqlStatementStats previous = CURRENT.get();
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return new Scope() {
+            @Override
+            public SqlStatementStats stats() {
+                return stats;
+            }
+
+            @Override
+            public void close() {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    void record(String sql, long elapsedNanos, boolean batch) {
+        statements++;
+        nanos += elapsedNanos;
+        if (!batch && sql != null) {
+            executionsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Sentencia individual (no batch) más repetida y su número de ejecuciones, o null si no hay ninguna.
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> max = null;
+        for (Map.Entry<String, Integer> entry : executionsBySql.entrySet()) {
+            if (max == null || entry.getValue() > max.getValue()) {
+                max = entry;
+            }
+        }
+        return max;
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        SqlStatementStats stats();
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,51 @@
+package com.project.loan.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Contabilización de sentencias SQL por petición (ver {@link SqlStatementStatsFilter}). Envuelve el
+ * DataSource que usan JPA y JdbcTemplate, el bean "dataSource" tanto con la configuración por
+ * defecto como con el enrutado a réplicas, para que cada sentencia se cuente una sola vez.
+ */
+@Configuration
+@ConditionalOnProperty(name = "loan.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementStatsConfig {
+
+    static final String DATA_SOURCE_BEAN = "dataSource";
+
+    // Estático para que el post-procesador se registre sin instanciar antes la configuración
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementStatsFilter> sqlStatementStatsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${loan.sql-stats.headers:true}") boolean headers,
+            @Value("${loan.sql-stats.repeated-threshold:25}") int repeatedThreshold) {
+        FilterRegistrationBean<SqlStatementStatsFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementStatsFilter(meterRegistry, headers, repeatedThreshold));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,167 @@
+package com.project.loan.datasource;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cuenta las sentencias SQL y el tiempo en base de datos de cada petición de la API.
+ *
+ * Siempre se registran como métricas por ruta (loan.http.sql.*). Con loan.sql-stats.headers=true
+ * (todos los perfiles salvo prod) también se devuelven en las cabeceras {@value #STATEMENTS_HEADER}
+ * y {@value #TIME_HEADER}; se escriben justo antes de que empiece el cuerpo, así que incluyen todo lo
+ * que hace el servicio pero no lo que se ejecute mientras se escribe (las exportaciones escriben
+ * desde otro hilo y no se contabilizan).
+ *
+ * Si una misma sentencia individual se ejecuta {@code repeatedThreshold} veces o más en la petición
+ * se registra un aviso de posible N+1.
+ */
+@Slf4j
+public class SqlStatementStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    static final String STATEMENTS = "loan.http.sql.statements";
+    static final String TIME = "loan.http.sql.time";
+    static final String REPEATED = "loan.http.sql.repeated";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headers;
+    private final int repeatedThreshold;
+
+    public SqlStatementStatsFilter(MeterRegistry meterRegistry, boolean headers, int repeatedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.headers = headers;
+        this.repeatedThreshold = repeatedThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        try (SqlStatementStats.Scope scope = SqlStatementStats.open()) {
+            SqlStatementStats stats = scope.stats();
+            StatsHeadersResponse wrapped = headers ? new StatsHeadersResponse(response, stats) : null;
+            try {
+                filterChain.doFilter(request, wrapped != null ? wrapped : response);
+            } finally {
+                if (wrapped != null && !response.isCommitted()) {
+                    wrapped.writeHeaders();
+                }
+                record(request, stats);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder(STATEMENTS)
+                .description("Sentencias SQL ejecutadas por petición")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        Timer.builder(TIME)
+                .description("Tiempo en base de datos por petición")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(Duration.ofNanos(stats.getNanos()));
+
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatedThreshold) {
+            Counter.builder(REPEATED)
+                    .description("Peticiones que repiten la misma sentencia SQL (posible N+1)")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Possible N+1: {} {} executed the same statement {} times ({} statements in total): {}",
+                    method, uri, repeated.getValue(), stats.getStatements(), repeated.getKey());
+        }
+    }
+
+    static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Añade las cabeceras la primera vez que se va a escribir algo en la respuesta, antes de que quede
+     * confirmada y ya no admita cabeceras.
+     */
+    private static final class StatsHeadersResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementStats stats;
+        private boolean written;
+
+        StatsHeadersResponse(HttpServletResponse response, SqlStatementStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (!written) {
+                written = true;
+                setHeader(STATEMENTS_HEADER, Integer.toString(stats.getStatements()));
+                setHeader(TIME_HEADER, formatMillis(stats.getNanos()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
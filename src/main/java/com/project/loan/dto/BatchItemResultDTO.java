@@ -0,0 +1,33 @@
+package com.project.loan.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de un elemento dentro de una operación por lotes")
+public class BatchItemResultDTO {
+
+    @Schema(description = "Posición del elemento en la petición (empezando en 0)")
+    private int index;
+
+    @Schema(description = "ID asignado cuando el elemento se ha creado")
+    private Long id;
+
+    @Schema(description = "Resultado del elemento")
+    private BatchItemStatus status;
+
+    @Schema(description = "Motivo del rechazo")
+    private String error;
+
+    public static BatchItemResultDTO created(int index, Long id) {
+        return new BatchItemResultDTO(index, id, BatchItemStatus.CREATED, null);
+    }
+
+    public static BatchItemResultDTO rejected(int index, String error) {
+        return new BatchItemResultDTO(index, null, BatchItemStatus.REJECTED, error);
+    }
+}
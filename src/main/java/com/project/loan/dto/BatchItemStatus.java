@@ -0,0 +1,6 @@
+package com.project.loan.dto;
+
+public enum BatchItemStatus {
+    CREATED,
+    REJECTED
+}
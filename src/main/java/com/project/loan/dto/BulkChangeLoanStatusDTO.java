@@ -0,0 +1,23 @@
+package com.project.loan.dto;
+
+import java.util.List;
+
+import com.project.loan.models.LoanStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+@Schema(description = "DTO para cambiar el estado de varias solicitudes de préstamo a la vez")
+public class BulkChangeLoanStatusDTO {
+
+    @Schema(description = "IDs de las solicitudes")
+    @NotEmpty(message = "La lista de IDs es obligatoria")
+    private List<Long> ids;
+
+    @Schema(description = "Nuevo estado de las solicitudes")
+    @NotNull(message = "El estado es obligatorio")
+    private LoanStatus status;
+}
@@ -0,0 +1,25 @@
+package com.project.loan.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Fila rechazada de una importación de clientes")
+public class ClientImportRejectDTO {
+
+    @Schema(description = "Número de línea en el fichero (empezando en 1, cabecera incluida)")
+    private long line;
+
+    @Schema(description = "DNI de la fila, si se ha podido leer")
+    private String dni;
+
+    @Schema(description = "Email de la fila, si se ha podido leer")
+    private String email;
+
+    @Schema(description = "Motivo del rechazo")
+    private String error;
+}
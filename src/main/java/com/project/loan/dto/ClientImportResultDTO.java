@@ -0,0 +1,27 @@
+package com.project.loan.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(description = "Resumen de una importación de clientes")
+public class ClientImportResultDTO {
+
+    @Schema(description = "Filas leídas del fichero (sin contar cabecera ni líneas vacías)")
+    private long received;
+
+    @Schema(description = "Clientes creados")
+    private long imported;
+
+    @Schema(description = "Filas rechazadas")
+    private long rejected;
+
+    @Schema(description = "Detalle de las primeras filas rechazadas")
+    private List<ClientImportRejectDTO> rejects = new ArrayList<>();
+
+    @Schema(description = "Indica que hay más filas rechazadas de las que se detallan")
+    private boolean rejectsTruncated;
+}
@@ -0,0 +1,21 @@
+package com.project.loan.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de resultados con cursor para obtener la siguiente")
+public class CursorPageDTO<T> {
+
+    @Schema(description = "Elementos de la página")
+    private List<T> items;
+
+    @Schema(description = "Cursor opaco de la siguiente página (null si no hay más resultados)")
+    private String nextCursor;
+}
@@ -0,0 +1,19 @@
+package com.project.loan.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Detalle de un error de la API")
+public class ErrorResponseDTO {
+
+    @Schema(description = "Campo que ha provocado el error, si aplica")
+    private String field;
+
+    @Schema(description = "Descripción del error")
+    private String message;
+}
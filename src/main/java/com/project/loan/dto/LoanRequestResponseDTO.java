@@ -0,0 +1,45 @@
+package com.project.loan.dto;
+
+import java.time.LocalDateTime;
+
+import com.project.loan.models.LoanStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Modelo de lectura de una solicitud de préstamo. Se rellena directamente desde una consulta
+ * con expresión de constructor, sin cargar ni gestionar las entidades LoanRequest y Client.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Solicitud de préstamo con los datos básicos del cliente")
+public class LoanRequestResponseDTO {
+
+    @Schema(description = "ID de la solicitud")
+    private Long id;
+
+    @Schema(description = "ID del cliente solicitante")
+    private Long clientId;
+
+    @Schema(description = "Nombre del cliente solicitante")
+    private String clientName;
+
+    @Schema(description = "Importe del préstamo solicitado")
+    private Double amount;
+
+    @Schema(description = "Divisa del préstamo")
+    private String currency;
+
+    @Schema(description = "Estado de la solicitud")
+    private LoanStatus status;
+
+    @Schema(description = "Fecha de creación")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "Versión de la solicitud; se devuelve también como ETag")
+    private Long version;
+}
@@ -0,0 +1,22 @@
+package com.project.loan.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Estadísticas de la cartera de solicitudes por estado y divisa")
+public class PortfolioStatsDTO {
+
+    @Schema(description = "Agregados por estado y divisa")
+    private List<PortfolioStatsRowDTO> rows;
+
+    @Schema(description = "Fecha de la última reconstrucción desde la base de datos")
+    private LocalDateTime rebuiltAt;
+}
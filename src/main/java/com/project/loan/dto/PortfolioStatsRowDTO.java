@@ -0,0 +1,27 @@
+package com.project.loan.dto;
+
+import com.project.loan.models.LoanStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Número de solicitudes e importe total para un estado y una divisa")
+public class PortfolioStatsRowDTO {
+
+    @Schema(description = "Estado de las solicitudes")
+    private LoanStatus status;
+
+    @Schema(description = "Divisa de las solicitudes")
+    private String currency;
+
+    @Schema(description = "Número de solicitudes")
+    private Long count;
+
+    @Schema(description = "Importe total")
+    private Double totalAmount;
+}
@@ -0,0 +1,7 @@
+package com.project.loan.dto;
+
+public enum StatusTransitionOutcome {
+    APPLIED,
+    INVALID_TRANSITION,
+    NOT_FOUND
+}
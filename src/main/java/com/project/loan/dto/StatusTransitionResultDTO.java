@@ -0,0 +1,36 @@
+package com.project.loan.dto;
+
+import com.project.loan.models.LoanStatus;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado del cambio de estado de una solicitud dentro de una operación por lotes")
+public class StatusTransitionResultDTO {
+
+    @Schema(description = "ID de la solicitud")
+    private Long id;
+
+    @Schema(description = "Resultado del cambio de estado")
+    private StatusTransitionOutcome outcome;
+
+    @Schema(description = "Estado de la solicitud tras la operación (null si no existe)")
+    private LoanStatus status;
+
+    public static StatusTransitionResultDTO applied(Long id, LoanStatus status) {
+        return new StatusTransitionResultDTO(id, StatusTransitionOutcome.APPLIED, status);
+    }
+
+    public static StatusTransitionResultDTO invalidTransition(Long id, LoanStatus currentStatus) {
+        return new StatusTransitionResultDTO(id, StatusTransitionOutcome.INVALID_TRANSITION, currentStatus);
+    }
+
+    public static StatusTransitionResultDTO notFound(Long id) {
+        return new StatusTransitionResultDTO(id, StatusTransitionOutcome.NOT_FOUND, null);
+    }
+}
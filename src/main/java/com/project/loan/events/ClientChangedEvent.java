@@ -0,0 +1,20 @@
+package com.project.loan.events;
+
+import com.project.loan.models.Client;
+
+import lombok.Value;
+
+/**
+ * Se publica cuando se crea, modifica o elimina un cliente. Los listeners transaccionales lo reciben
+ * después del commit, de modo que las cachés nunca ven un cambio que acabe revertido.
+ */
+@Value
+public class ClientChangedEvent {
+
+    Long clientId;
+    // Cliente tal y como quedó guardado; null si se ha eliminado
+    Client client;
+    // DNI y email anteriores al cambio, para desalojar sus entradas si han cambiado
+    String previousDni;
+    String previousEmail;
+}
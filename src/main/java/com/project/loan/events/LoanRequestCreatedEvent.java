@@ -0,0 +1,21 @@
+package com.project.loan.events;
+
+import com.project.loan.models.LoanStatus;
+
+import lombok.Value;
+
+/**
+ * Se publica cuando se crea una solicitud de préstamo. Los listeners transaccionales lo reciben
+ * después del commit.
+ */
+@Value
+public class LoanRequestCreatedEvent {
+
+    Long loanRequestId;
+    Long clientId;
+    Double amount;
+    String currency;
+    LoanStatus status;
+    // Versión de la solicitud tras el cambio: ordena los eventos de una misma solicitud
+    Long version;
+}
@@ -0,0 +1,22 @@
+package com.project.loan.events;
+
+import com.project.loan.models.LoanStatus;
+
+import lombok.Value;
+
+/**
+ * Se publica cuando una solicitud de préstamo cambia de estado. Los listeners transaccionales lo
+ * reciben después del commit.
+ */
+@Value
+public class LoanStatusChangedEvent {
+
+    Long loanRequestId;
+    Long clientId;
+    Double amount;
+    String currency;
+    LoanStatus previousStatus;
+    LoanStatus newStatus;
+    // Versión de la solicitud tras el cambio: ordena los eventos de una misma solicitud
+    Long version;
+}
@@ -0,0 +1,17 @@
+package com.project.loan.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Se lanza cuando una escritura de cliente viola una de sus restricciones de unicidad.
+ */
+@Getter
+public class ClientConflictException extends RuntimeException {
+
+    private final String field;
+
+    public ClientConflictException(String field, String message, Throwable cause) {
+        super(message, cause);
+        this.field = field;
+    }
+}
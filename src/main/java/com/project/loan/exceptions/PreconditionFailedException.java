@@ -0,0 +1,18 @@
+package com.project.loan.exceptions;
+
+import lombok.Getter;
+
+/**
+ * Se lanza cuando la versión indicada en If-Match no coincide con la versión actual del recurso.
+ * {@code currentVersion} es null si no se conoce (por ejemplo, tras un conflicto de bloqueo optimista).
+ */
+@Getter
+public class PreconditionFailedException extends RuntimeException {
+
+    private final Long currentVersion;
+
+    public PreconditionFailedException(String message, Long currentVersion) {
+        super(message);
+        this.currentVersion = currentVersion;
+    }
+}
@@ -0,0 +1,12 @@
+package com.project.loan.exceptions;
+
+/**
+ * Se lanza cuando la escritura diferida no admite más solicitudes: la cola está llena o la aplicación
+ * se está deteniendo. El cliente puede reintentar más tarde.
+ */
+public class WriteBehindRejectedException extends RuntimeException {
+
+    public WriteBehindRejectedException(String message) {
+        super(message);
+    }
+}
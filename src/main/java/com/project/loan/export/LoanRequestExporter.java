@@ -0,0 +1,119 @@
+package com.project.loan.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.models.LoanStatus;
+import com.project.loan.services.LoanRequestService;
+
+/**
+ * Escribe el extracto de solicitudes en la respuesta a medida que se leen de la base de datos,
+ * sin acumular las filas en memoria.
+ */
+@Component
+public class LoanRequestExporter {
+
+    private static final String CSV_HEADER = "id,clientId,clientName,amount,currency,status,createdAt";
+
+    @Autowired
+    private LoanRequestService loanRequestService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public void export(ExportFormat format, LoanStatus status, Long clientId, String currency, OutputStream out)
+            throws IOException {
+        try {
+            if (format == ExportFormat.CSV) {
+                exportCsv(status, clientId, currency, out);
+            } else {
+                exportNdjson(status, clientId, currency, out);
+            }
+        } catch (UncheckedIOException e) {
+            // Normalmente el cliente ha cerrado la conexión; se propaga para cerrar el cursor y la transacción
+            throw e.getCause();
+        }
+    }
+
+    private void exportNdjson(LoanStatus status, Long clientId, String currency, OutputStream out) throws IOException {
+        // Sin flush por fila: el buffer del generador y el de la respuesta agrupan las escrituras
+        ObjectWriter writer = objectMapper.writerFor(LoanRequestResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withoutFeatures(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n");
+        AtomicLong written = new AtomicLong();
+        try (SequenceWriter rows = writer.writeValues(out)) {
+            loanRequestService.exportLoanRequests(status, clientId, currency, row -> {
+                try {
+                    rows.write(row);
+                    written.incrementAndGet();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        if (written.get() > 0) {
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private void exportCsv(LoanStatus status, Long clientId, String currency, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        loanRequestService.exportLoanRequests(status, clientId, currency, row -> {
+            try {
+                writeCsvRow(writer, row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private static void writeCsvRow(Writer writer, LoanRequestResponseDTO row) throws IOException {
+        writer.write(String.valueOf(row.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(row.getClientId()));
+        writer.write(',');
+        writeCsvField(writer, row.getClientName());
+        writer.write(',');
+        writer.write(row.getAmount() == null ? "" : row.getAmount().toString());
+        writer.write(',');
+        writeCsvField(writer, row.getCurrency());
+        writer.write(',');
+        writer.write(row.getStatus() == null ? "" : row.getStatus().name());
+        writer.write(',');
+        writer.write(row.getCreatedAt() == null ? "" : row.getCreatedAt().toString());
+        writer.write('\n');
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
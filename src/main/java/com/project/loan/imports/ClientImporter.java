@@ -0,0 +1,223 @@
+package com.project.loan.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.loan.dto.BatchItemResultDTO;
+import com.project.loan.dto.BatchItemStatus;
+import com.project.loan.dto.ClientImportRejectDTO;
+import com.project.loan.dto.ClientImportResultDTO;
+import com.project.loan.dto.CreateClientDTO;
+import com.project.loan.mappers.ClientMapper;
+import com.project.loan.models.Client;
+import com.project.loan.services.ClientService;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Importa clientes desde un fichero CSV o NDJSON leyéndolo línea a línea. Las filas válidas se
+ * agrupan en bloques de chunk-size que se crean cada uno en su propia transacción, así que la memoria
+ * depende del tamaño del bloque y del número máximo de rechazos detallados, no del fichero.
+ */
+@Component
+public class ClientImporter {
+
+    private static final Set<String> CSV_COLUMNS = Set.of("name", "dni", "email");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ClientMapper clientMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loan.client-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${loan.client-import.max-rejects:1000}")
+    private int maxRejects;
+
+    /**
+     * CSV con cabecera; las columnas name y dni son obligatorias y email opcional, en cualquier orden.
+     */
+    public ClientImportResultDTO importCsv(InputStream in) throws IOException {
+        BufferedReader reader = reader(in);
+        String header = reader.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("El fichero está vacío");
+        }
+        List<String> columns = splitCsv(header.replace("\uFEFF", "")).stream()
+                .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int name = columns.indexOf("name");
+        int dni = columns.indexOf("dni");
+        int email = columns.indexOf("email");
+        if (name < 0 || dni < 0) {
+            throw new IllegalArgumentException("La cabecera debe incluir las columnas name y dni (y opcionalmente email)");
+        }
+        if (!CSV_COLUMNS.containsAll(columns)) {
+            throw new IllegalArgumentException("Columnas no reconocidas en la cabecera: " + columns);
+        }
+        return importLines(reader, 1, line -> {
+            List<String> fields = splitCsv(line);
+            if (fields.size() != columns.size()) {
+                throw new IllegalArgumentException("Se esperaban " + columns.size() + " columnas y hay " + fields.size());
+            }
+            CreateClientDTO dto = new CreateClientDTO();
+            dto.setName(field(fields, name));
+            dto.setDni(field(fields, dni));
+            dto.setEmail(email < 0 ? null : field(fields, email));
+            return dto;
+        });
+    }
+
+    /**
+     * Un objeto JSON con los campos de CreateClientDTO por línea.
+     */
+    public ClientImportResultDTO importNdjson(InputStream in) throws IOException {
+        return importLines(reader(in), 0, line -> objectMapper.readValue(line, CreateClientDTO.class));
+    }
+
+    private ClientImportResultDTO importLines(BufferedReader reader, long lineNumber, LineParser parser)
+            throws IOException {
+        ClientImportResultDTO result = new ClientImportResultDTO();
+        List<Client> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setReceived(result.getReceived() + 1);
+            CreateClientDTO dto;
+            try {
+                dto = parser.parse(line);
+            } catch (IOException | IllegalArgumentException e) {
+                reject(result, lineNumber, null, null, "Línea mal formada: " + e.getMessage());
+                continue;
+            }
+            String error = validate(dto);
+            if (error != null) {
+                reject(result, lineNumber, dto == null ? null : dto.getDni(), dto == null ? null : dto.getEmail(), error);
+                continue;
+            }
+            chunk.add(clientMapper.toEntity(dto));
+            chunkLines.add(lineNumber);
+            if (chunk.size() == chunkSize) {
+                flushChunk(chunk, chunkLines, result);
+            }
+        }
+        flushChunk(chunk, chunkLines, result);
+        return result;
+    }
+
+    private void flushChunk(List<Client> chunk, List<Long> chunkLines, ClientImportResultDTO result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<BatchItemResultDTO> outcomes = clientService.importClients(chunk);
+        for (BatchItemResultDTO outcome : outcomes) {
+            if (outcome.getStatus() == BatchItemStatus.CREATED) {
+                result.setImported(result.getImported() + 1);
+            } else {
+                Client client = chunk.get(outcome.getIndex());
+                reject(result, chunkLines.get(outcome.getIndex()), client.getDni(), client.getEmail(), outcome.getError());
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private void reject(ClientImportResultDTO result, long line, String dni, String email, String error) {
+        result.setRejected(result.getRejected() + 1);
+        if (result.getRejects().size() < maxRejects) {
+            result.getRejects().add(new ClientImportRejectDTO(line, dni, email, error));
+        } else {
+            result.setRejectsTruncated(true);
+        }
+    }
+
+    private String validate(CreateClientDTO dto) {
+        if (dto == null) {
+            return "Fila vacía";
+        }
+        Set<ConstraintViolation<CreateClientDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    private static String field(List<String> fields, int index) {
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Separa una línea CSV (RFC 4180 sin saltos de línea dentro de los campos): comas como separador,
+     * comillas dobles para los campos que contienen comas y "" para una comilla literal.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Comillas sin cerrar");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @FunctionalInterface
+    private interface LineParser {
+
+        CreateClientDTO parse(String line) throws IOException;
+    }
+}
@@ -0,0 +1,25 @@
+package com.project.loan.logging;
+
+import java.util.function.Supplier;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Permite a los controladores adjuntar un resumen del payload a la entrada del access log de la
+ * petición actual. El resumen solo se construye si la entrada llega a escribirse.
+ */
+public final class AccessLog {
+
+    static final String PAYLOAD_ATTRIBUTE = AccessLog.class.getName() + ".payload";
+
+    private AccessLog() {
+    }
+
+    public static void payload(Supplier<String> summary) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(PAYLOAD_ATTRIBUTE, summary, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
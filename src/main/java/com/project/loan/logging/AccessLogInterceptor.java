@@ -0,0 +1,90 @@
+package com.project.loan.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Access log estructurado de la API. Las peticiones con error (4xx, 5xx o excepción) se registran
+ * siempre; las correctas solo en la proporción indicada por loan.access-log.sample-rate.
+ *
+ * Las entradas van al logger "access", que logback-spring.xml envía a un appender asíncrono acotado
+ * que descarta entradas en lugar de bloquear el hilo de la petición cuando la cola está llena.
+ */
+@Component
+public class AccessLogInterceptor implements HandlerInterceptor {
+
+    static final String LOGGER_NAME = "access";
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger(LOGGER_NAME);
+    private static final String START_ATTRIBUTE = AccessLogInterceptor.class.getName() + ".start";
+
+    private final double sampleRate;
+
+    public AccessLogInterceptor(@Value("${loan.access-log.sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        // En las respuestas asíncronas (exportaciones) se vuelve a pasar por aquí en el segundo dispatch
+        if (request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, @Nullable Exception ex) {
+        int status = response.getStatus();
+        boolean error = ex != null || status >= 400;
+        if (!error && !sampled()) {
+            return;
+        }
+        if (error ? !ACCESS_LOG.isWarnEnabled() : !ACCESS_LOG.isInfoEnabled()) {
+            return;
+        }
+
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        long durationMs = start instanceof Long startNanos
+                ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) : -1;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String payload = payload(request);
+
+        if (ex != null) {
+            ACCESS_LOG.error("method={} path={} route={} status={} durationMs={} payload={} error={}",
+                    request.getMethod(), request.getRequestURI(), pattern, status, durationMs, payload, ex.toString(), ex);
+        } else if (error) {
+            ACCESS_LOG.warn("method={} path={} route={} status={} durationMs={} payload={}",
+                    request.getMethod(), request.getRequestURI(), pattern, status, durationMs, payload);
+        } else {
+            ACCESS_LOG.info("method={} path={} route={} status={} durationMs={} payload={}",
+                    request.getMethod(), request.getRequestURI(), pattern, status, durationMs, payload);
+        }
+    }
+
+    private boolean sampled() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private static String payload(HttpServletRequest request) {
+        Object summary = request.getAttribute(AccessLog.PAYLOAD_ATTRIBUTE);
+        if (summary instanceof Supplier<?> supplier) {
+            return String.valueOf(supplier.get());
+        }
+        return "-";
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.loan.logging;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * AsyncAppender que cuenta las entradas que descarta, tanto por debajo del umbral de descarte como
+ * con la cola llena y neverBlock activo. Logback arranca antes que Spring, así que los contadores se
+ * publican en un registro estático que {@link LoggingMetrics} expone como métricas.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private static final Map<String, LongAdder> DROPPED = new ConcurrentHashMap<>();
+
+    private LongAdder dropped = new LongAdder();
+
+    static Map<String, LongAdder> dropped() {
+        return DROPPED;
+    }
+
+    @Override
+    public void start() {
+        dropped = DROPPED.computeIfAbsent(getName(), name -> new LongAdder());
+        super.start();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // AsyncAppenderBase descarta en silencio cuando offer() falla; la comprobación previa puede
+        // perder alguna entrada en carrera con otros hilos, por lo que la cifra es una cota inferior.
+        if (isStarted() && isNeverBlock() && getRemainingCapacity() == 0) {
+            dropped.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            dropped.increment();
+        }
+        return discardable;
+    }
+}
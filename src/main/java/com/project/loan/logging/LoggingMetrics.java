@@ -0,0 +1,25 @@
+package com.project.loan.logging;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publica las entradas de log descartadas por cada {@link CountingAsyncAppender}.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CountingAsyncAppender.dropped().forEach((appender, dropped) ->
+                FunctionCounter.builder("loan.logging.dropped", dropped, LongAdder::sum)
+                        .description("Entradas de log descartadas por el appender asíncrono")
+                        .tag("appender", appender)
+                        .register(registry));
+    }
+}
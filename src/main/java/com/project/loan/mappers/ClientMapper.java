@@ -10,5 +10,6 @@ public interface ClientMapper {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Client toEntity(CreateClientDTO dto);
 }
\ No newline at end of file
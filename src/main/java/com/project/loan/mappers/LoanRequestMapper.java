@@ -1,6 +1,7 @@
 package com.project.loan.mappers;
 
 import com.project.loan.dto.CreateLoanRequestDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
 import com.project.loan.models.LoanRequest;
 import com.project.loan.models.Client;
 import org.mapstruct.Mapper;
@@ -13,5 +14,10 @@ public interface LoanRequestMapper {
     @Mapping(target = "client", source = "client")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "version", ignore = true)
     LoanRequest toEntity(CreateLoanRequestDTO dto, Client client);
+
+    @Mapping(target = "clientId", source = "client.id")
+    @Mapping(target = "clientName", source = "client.name")
+    LoanRequestResponseDTO toResponse(LoanRequest loanRequest);
 }
\ No newline at end of file
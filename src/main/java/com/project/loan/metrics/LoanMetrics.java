@@ -0,0 +1,66 @@
+package com.project.loan.metrics;
+
+import org.springframework.stereotype.Component;
+
+import com.project.loan.models.LoanStatus;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Contadores de negocio de las solicitudes de préstamo.
+ *
+ * Las latencias por endpoint (http.server.requests), por método de repositorio
+ * (spring.data.repository.invocations) y las métricas del pool de conexiones (hikaricp.*)
+ * las registra Spring Boot automáticamente.
+ */
+@Component
+public class LoanMetrics {
+
+    static final String CREATED = "loan.requests.created";
+    static final String TRANSITIONS = "loan.requests.status.transitions";
+
+    private final MeterRegistry meterRegistry;
+
+    public LoanMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void loanCreated() {
+        loansCreated("single", 1);
+    }
+
+    public void loansCreated(String channel, int count) {
+        if (count > 0) {
+            Counter.builder(CREATED)
+                    .description("Solicitudes de préstamo creadas")
+                    .tag("channel", channel)
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+
+    public void transitionApplied(LoanStatus from, LoanStatus to) {
+        transitionsApplied(from, to, 1);
+    }
+
+    public void transitionsApplied(LoanStatus from, LoanStatus to, int count) {
+        transition(from.name(), to, "applied", count);
+    }
+
+    public void transitionRejected(LoanStatus from, LoanStatus to) {
+        transition(from.name(), to, "rejected", 1);
+    }
+
+    private void transition(String from, LoanStatus to, String outcome, int count) {
+        if (count > 0) {
+            Counter.builder(TRANSITIONS)
+                    .description("Cambios de estado de solicitudes de préstamo")
+                    .tag("from", from)
+                    .tag("to", to.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .increment(count);
+        }
+    }
+}
@@ -7,6 +7,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
@@ -14,8 +17,15 @@ import lombok.Data;
 
 @Data
 @Entity
+@Table(uniqueConstraints = {
+    @UniqueConstraint(name = Client.DNI_UNIQUE_CONSTRAINT, columnNames = "dni"),
+    @UniqueConstraint(name = Client.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email")
+})
 public class Client {
 
+    public static final String DNI_UNIQUE_CONSTRAINT = "uk_client_dni";
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_client_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -25,17 +35,23 @@ public class Client {
     @Column
     private String name;
 
-    @Column(unique = true)
+    @Column
     @NotNull
     @Pattern(regexp = "^[0-9]{8}[A-Z]$")
     private String dni;
 
     @Email
-    @Column(unique = true)
+    @Column
     private String email;
 
     @Column
     private LocalDateTime createdAt;
 
+    // Bloqueo optimista y base del ETag del cliente. Null hasta la inserción para que Spring Data
+    // detecte que la entidad es nueva
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
 
 }
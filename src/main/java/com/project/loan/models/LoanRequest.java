@@ -6,24 +6,51 @@ import java.time.LocalDateTime;
 import lombok.Data;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 
 @Data
 @Entity
+@Table(indexes = {
+    // Soporta la paginación por cursor (keyset) sobre el orden (createdAt, id)
+    @Index(name = "idx_loan_request_created_at_id", columnList = "created_at, id"),
+    // Un índice por combinación de filtros del listado: las columnas filtradas y después (created_at, id),
+    // de modo que la página sale del índice ya ordenada sin ordenar todas las filas que cumplen el filtro.
+    // Los de client_id también cubren la clave foránea.
+    @Index(name = "idx_loan_request_status", columnList = "status, created_at, id"),
+    @Index(name = "idx_loan_request_currency", columnList = "currency, created_at, id"),
+    @Index(name = "idx_loan_request_status_currency", columnList = "status, currency, created_at, id"),
+    @Index(name = "idx_loan_request_client", columnList = "client_id, created_at, id"),
+    @Index(name = "idx_loan_request_client_status", columnList = "client_id, status, created_at, id"),
+    @Index(name = "idx_loan_request_client_currency", columnList = "client_id, currency, created_at, id"),
+    @Index(name = "idx_loan_request_client_status_currency", columnList = "client_id, status, currency, created_at, id")
+})
 public class LoanRequest {
 
+    public static final String ID_SEQUENCE = "loan_request_seq";
+    // IDs reservados en cada llamada a la secuencia; la escritura diferida reparte los suyos con la misma regla
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_request_seq")
+    // Optimizador pooled-lo (hibernate.id.optimizer.pooled.preferred): cada llamada a la secuencia reserva 50 IDs,
+    // lo que permite agrupar las inserciones en batches JDBC
+    @SequenceGenerator(name = "loan_request_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    // LAZY: las lecturas usan LoanRequestResponseDTO y no necesitan hidratar el cliente completo
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
     private Client client;
     
@@ -38,7 +65,14 @@ public class LoanRequest {
     @NotNull
     private LoanStatus status;
 
-    @Column
+    @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Bloqueo optimista para las escrituras a través de la entidad; los cambios de estado
+    // con UPDATE condicional también lo incrementan. Es la base del ETag de la solicitud.
+    // Null hasta la inserción: Spring Data usa la versión nula para saber que la entidad es nueva
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
 }
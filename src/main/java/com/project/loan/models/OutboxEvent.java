@@ -0,0 +1,49 @@
+package com.project.loan.models;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Evento pendiente de entregar a los sistemas externos. Se inserta en la misma transacción que el
+ * cambio de la solicitud y se borra cuando el destino lo ha recibido.
+ */
+@Data
+@Entity
+@Table(name = "outbox_event", indexes = {
+    // Localiza el primer evento pendiente de cada solicitud (orden de entrega por solicitud)
+    @Index(name = "idx_outbox_event_aggregate", columnList = "aggregate_id, aggregate_version")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    // Mismo tamaño de bloque que loan_request_seq para que las inserciones vayan en batches JDBC
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "aggregate_version", nullable = false)
+    private Long aggregateVersion;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    // JSON del evento
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,67 @@
+package com.project.loan.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.project.loan.models.OutboxEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Añade los eventos a un fichero NDJSON (una línea por evento). Cada lote se escribe con una sola
+ * llamada y se fuerza a disco antes de volver, de modo que un evento borrado de la outbox ya está en
+ * el fichero.
+ */
+@Component
+@ConditionalOnProperty(name = "loan.outbox.sink", havingValue = "file")
+public class FileOutboxSink implements OutboxSink {
+
+    private final FileChannel channel;
+    // Las escrituras de lotes no se intercalan
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public FileOutboxSink(@Value("${loan.outbox.file.path:outbox-events.ndjson}") Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 256);
+        for (OutboxEvent event : events) {
+            // El payload ya es JSON y se incrusta tal cual
+            lines.append("{\"id\":").append(event.getId())
+                    .append(",\"type\":\"").append(event.getEventType())
+                    .append("\",\"aggregateId\":").append(event.getAggregateId())
+                    .append(",\"aggregateVersion\":").append(event.getAggregateVersion())
+                    .append(",\"createdAt\":\"").append(event.getCreatedAt())
+                    .append("\",\"payload\":").append(event.getPayload())
+                    .append("}\n");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        lock.lock();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.loan.outbox;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.project.loan.models.OutboxEvent;
+
+/**
+ * Escribe los eventos en el logger "outbox". Pensado para desarrollo: el appender asíncrono descarta
+ * entradas con la cola llena, así que no ofrece entrega garantizada.
+ */
+@Component
+@ConditionalOnProperty(name = "loan.outbox.sink", havingValue = "log", matchIfMissing = true)
+public class LogOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger("outbox");
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.info("type={} aggregate={} version={} payload={}", event.getEventType(), event.getAggregateId(),
+                    event.getAggregateVersion(), event.getPayload());
+        }
+    }
+}
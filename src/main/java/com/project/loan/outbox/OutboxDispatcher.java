@@ -0,0 +1,75 @@
+package com.project.loan.outbox;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Vacía la outbox en segundo plano. En cada pasada entrega lotes mientras haya eventos pendientes,
+ * hasta un máximo por pasada para no monopolizar el hilo del planificador. Si el destino falla
+ * espera cada vez más (hasta max-backoff) antes de reintentar, para no saturar un destino caído.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "loan.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Value("${loan.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${loan.outbox.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${loan.outbox.poll-interval:500ms}")
+    private Duration pollInterval;
+
+    @Value("${loan.outbox.max-backoff:1m}")
+    private Duration maxBackoff;
+
+    // Solo los usa el hilo del planificador (fixedDelay no solapa ejecuciones)
+    private int consecutiveFailures;
+    private long retryAt;
+
+    @Scheduled(fixedDelayString = "${loan.outbox.poll-interval:500ms}")
+    public void dispatch() {
+        if (consecutiveFailures > 0 && System.nanoTime() - retryAt < 0) {
+            return;
+        }
+        try {
+            int batches = 0;
+            while (batches < maxBatchesPerRun && outboxRelay.relayBatch(batchSize) > 0) {
+                batches++;
+            }
+            if (consecutiveFailures > 0) {
+                log.info("Outbox dispatch recovered after {} failed attempts", consecutiveFailures);
+            }
+            consecutiveFailures = 0;
+        } catch (Exception e) {
+            consecutiveFailures++;
+            Duration backoff = backoff();
+            retryAt = System.nanoTime() + backoff.toNanos();
+            log.warn("Outbox dispatch failed ({} in a row), retrying in {} ms: {}", consecutiveFailures,
+                    backoff.toMillis(), e.toString());
+        }
+    }
+
+    int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    // pollInterval * 2^(fallos - 1), limitado a maxBackoff
+    private Duration backoff() {
+        int exponent = Math.min(consecutiveFailures - 1, 20);
+        Duration backoff = pollInterval.multipliedBy(1L << exponent);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+}
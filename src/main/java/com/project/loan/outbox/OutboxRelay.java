@@ -0,0 +1,67 @@
+package com.project.loan.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.loan.models.OutboxEvent;
+import com.project.loan.repo.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Entrega un lote de la outbox en una transacción: bloquea los eventos, los pasa al destino y los
+ * borra. Si el destino falla la transacción se deshace y los eventos siguen pendientes.
+ */
+@Component
+public class OutboxRelay {
+
+    static final String DISPATCHED = "loan.outbox.dispatched";
+    static final String LAG = "loan.outbox.lag";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private OutboxSink outboxSink;
+
+    private final Counter dispatched;
+    private final Timer lag;
+
+    public OutboxRelay(MeterRegistry meterRegistry) {
+        this.dispatched = Counter.builder(DISPATCHED)
+                .description("Eventos de la outbox entregados")
+                .register(meterRegistry);
+        this.lag = Timer.builder(LAG)
+                .description("Tiempo desde que se guarda un evento hasta que se entrega")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve el número de eventos entregados (0 si no había nada pendiente).
+     */
+    // rollbackFor: los destinos lanzan excepciones comprobadas (IOException) y también deben deshacer el borrado
+    @Transactional(rollbackFor = Exception.class)
+    public int relayBatch(int batchSize) throws Exception {
+        List<OutboxEvent> batch = outboxEventRepository.findDeliverableForUpdate(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        outboxSink.publish(batch);
+        outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : batch) {
+            lag.record(Duration.between(event.getCreatedAt(), now));
+        }
+        dispatched.increment(batch.size());
+        return batch.size();
+    }
+}
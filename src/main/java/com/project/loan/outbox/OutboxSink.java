@@ -0,0 +1,19 @@
+package com.project.loan.outbox;
+
+import java.util.List;
+
+import com.project.loan.models.OutboxEvent;
+
+/**
+ * Destino de los eventos de la outbox. La entrega es al menos una vez: si {@link #publish} lanza
+ * una excepción el lote completo se reintenta, así que el destino debe tolerar duplicados (el par
+ * aggregateId/aggregateVersion identifica cada evento).
+ */
+public interface OutboxSink {
+
+    /**
+     * Entrega los eventos en el orden recibido. Solo debe volver cuando el destino los haya aceptado
+     * de forma duradera; después se borran de la outbox.
+     */
+    void publish(List<OutboxEvent> events) throws Exception;
+}
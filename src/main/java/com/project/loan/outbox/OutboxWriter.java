@@ -0,0 +1,64 @@
+package com.project.loan.outbox;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.loan.events.LoanRequestCreatedEvent;
+import com.project.loan.events.LoanStatusChangedEvent;
+import com.project.loan.models.OutboxEvent;
+import com.project.loan.repo.OutboxEventRepository;
+
+/**
+ * Guarda en la outbox los eventos de solicitudes dentro de la transacción que los publica, de modo
+ * que el evento existe si y solo si el cambio se confirma. La inserción se acumula en el contexto de
+ * persistencia y sale en el mismo flush (en batch) que el resto de escrituras.
+ */
+@Component
+public class OutboxWriter {
+
+    static final String LOAN_REQUEST_CREATED = "LoanRequestCreated";
+    static final String LOAN_STATUS_CHANGED = "LoanStatusChanged";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLoanRequestCreated(LoanRequestCreatedEvent event) {
+        append(event.getLoanRequestId(), event.getVersion(), LOAN_REQUEST_CREATED, event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onLoanStatusChanged(LoanStatusChangedEvent event) {
+        append(event.getLoanRequestId(), event.getVersion(), LOAN_STATUS_CHANGED, event);
+    }
+
+    private void append(Long aggregateId, Long aggregateVersion, String eventType, Object event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(aggregateId);
+        outboxEvent.setAggregateVersion(aggregateVersion);
+        outboxEvent.setEventType(eventType);
+        outboxEvent.setPayload(toJson(event));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        outboxEventRepository.save(outboxEvent);
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se ha podido serializar el evento " + event, e);
+        }
+    }
+}
@@ -1,19 +1,44 @@
 package com.project.loan.repo;
 
 import com.project.loan.models.Client;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, ClientRepositoryCustom {
     
     Optional<Client> findByEmail(String email);
     
     Optional<Client> findByDni(String dni);
-    
-    boolean existsByEmail(String email);
-    
-    boolean existsByDni(String dni);
+
+    @Query("SELECT c.version FROM Client c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Borrado sin cargar antes la entidad; devuelve el número de filas borradas (0 si no existía)
+    @Modifying
+    @Query("DELETE FROM Client c WHERE c.id = :id")
+    int deleteClientById(@Param("id") Long id);
+
+    @Query("SELECT c.dni FROM Client c WHERE c.dni IN :dnis")
+    List<String> findExistingDnis(@Param("dnis") Collection<String> dnis);
+
+    @Query("SELECT c.email FROM Client c WHERE c.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Pares (dni, email) de todos los clientes, leídos por bloques; requiere una transacción abierta
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.dni, c.email FROM Client c")
+    Stream<Object[]> streamAllKeys();
 }
\ No newline at end of file
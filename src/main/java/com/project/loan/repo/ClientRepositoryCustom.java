@@ -0,0 +1,15 @@
+package com.project.loan.repo;
+
+import java.util.List;
+import java.util.Map;
+
+import com.project.loan.models.Client;
+
+public interface ClientRepositoryCustom {
+
+    /**
+     * Inserta los clientes ignorando los que chocan con un DNI o email existente. Devuelve el ID
+     * asignado a cada cliente insertado, por DNI; los ausentes no se han insertado.
+     */
+    Map<String, Long> insertIgnoringConflicts(List<Client> clients);
+}
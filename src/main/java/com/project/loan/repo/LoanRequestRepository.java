@@ -1,21 +1,80 @@
 package com.project.loan.repo;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.dto.PortfolioStatsRowDTO;
 import com.project.loan.models.LoanRequest;
 import com.project.loan.models.LoanStatus;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
-public interface LoanRequestRepository extends JpaRepository<LoanRequest, Long> {
-    
+public interface LoanRequestRepository extends JpaRepository<LoanRequest, Long>, LoanRequestRepositoryCustom {
+
+    String VIEW_SELECT = "SELECT new com.project.loan.dto.LoanRequestResponseDTO(lr.id, c.id, c.name, lr.amount, lr.currency, lr.status, lr.createdAt, lr.version)"
+            + " FROM LoanRequest lr JOIN lr.client c";
+
+    @Query(VIEW_SELECT + " WHERE lr.id = :id")
+    Optional<LoanRequestResponseDTO> findViewById(@Param("id") Long id);
+
+    @Query("SELECT lr.status FROM LoanRequest lr WHERE lr.id = :id")
+    Optional<LoanStatus> findStatusById(@Param("id") Long id);
+
+    // Consulta de solo la versión para responder a If-None-Match sin cargar la solicitud
+    @Query("SELECT lr.version FROM LoanRequest lr WHERE lr.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Cambia el estado solo si el estado actual es {@code currentStatus}. Devuelve el número de filas
+     * actualizadas (0 si la solicitud no existe o su estado es otro).
+     */
+    @Modifying
+    @Query("UPDATE LoanRequest lr SET lr.status = :newStatus, lr.version = lr.version + 1 WHERE lr.id = :id AND lr.status = :currentStatus")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("currentStatus") LoanStatus currentStatus,
+                            @Param("newStatus") LoanStatus newStatus);
+
+    /**
+     * Igual que {@link #compareAndSetStatus} pero además exige que la versión actual sea {@code expectedVersion} (If-Match).
+     */
+    @Modifying
+    @Query("UPDATE LoanRequest lr SET lr.status = :newStatus, lr.version = lr.version + 1"
+            + " WHERE lr.id = :id AND lr.status = :currentStatus AND lr.version = :expectedVersion")
+    int compareAndSetStatus(@Param("id") Long id,
+                            @Param("currentStatus") LoanStatus currentStatus,
+                            @Param("newStatus") LoanStatus newStatus,
+                            @Param("expectedVersion") Long expectedVersion);
+
+    /**
+     * Bloquea las solicitudes indicadas hasta el final de la transacción. El orden por id evita
+     * interbloqueos entre operaciones por lotes concurrentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT lr FROM LoanRequest lr WHERE lr.id IN :ids ORDER BY lr.id")
+    List<LoanRequest> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Versión por lotes de {@link #compareAndSetStatus}: una sola sentencia para todas las solicitudes.
+     * Vacía el contexto de persistencia antes de limpiarlo para no descartar inserciones pendientes
+     * (p.ej. las de la outbox de bloques anteriores).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE LoanRequest lr SET lr.status = :newStatus, lr.version = lr.version + 1 WHERE lr.id IN :ids AND lr.status IN :allowedFrom")
+    int compareAndSetStatuses(@Param("ids") Collection<Long> ids,
+                              @Param("allowedFrom") Collection<LoanStatus> allowedFrom,
+                              @Param("newStatus") LoanStatus newStatus);
 
-    @Query("SELECT lr FROM LoanRequest lr WHERE (:status IS NULL OR lr.status = :status) AND (:clientId IS NULL OR lr.client.id = :clientId) AND (:currency IS NULL OR lr.currency = :currency)")
-    List<LoanRequest> findByFilters(@Param("status") LoanStatus status,
-                                    @Param("clientId") Long clientId,
-                                    @Param("currency") String currency);   
+    @Query("SELECT new com.project.loan.dto.PortfolioStatsRowDTO(lr.status, lr.currency, COUNT(lr), SUM(lr.amount))"
+            + " FROM LoanRequest lr GROUP BY lr.status, lr.currency")
+    List<PortfolioStatsRowDTO> aggregateByStatusAndCurrency();
 }
@@ -0,0 +1,32 @@
+package com.project.loan.repo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.project.loan.dto.LoanRequestCursor;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.models.LoanRequest;
+import com.project.loan.models.LoanStatus;
+
+public interface LoanRequestRepositoryCustom {
+
+    /**
+     * Devuelve hasta {@code limit} solicitudes ordenadas por (createdAt, id) posteriores al cursor
+     * {@code after} (o desde el principio si es null). Los filtros a null no se aplican.
+     */
+    List<LoanRequestResponseDTO> findPageByFilters(LoanStatus status, Long clientId, String currency,
+                                                   LoanRequestCursor after, int limit);
+
+    /**
+     * Recorre en un único cursor JDBC todas las solicitudes que cumplen los filtros, ordenadas por
+     * (createdAt, id). Debe consumirse y cerrarse dentro de una transacción para que PostgreSQL
+     * respete el fetch size en lugar de cargar el resultado completo.
+     */
+    Stream<LoanRequestResponseDTO> streamByFilters(LoanStatus status, Long clientId, String currency, int fetchSize);
+
+    /**
+     * Inserta en un batch JDBC solicitudes que ya tienen ID asignado, sin pasar por el contexto de
+     * persistencia. La versión se inicializa a 0.
+     */
+    void insertAll(List<LoanRequest> loanRequests);
+}
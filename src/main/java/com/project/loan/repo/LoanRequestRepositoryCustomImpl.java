@@ -0,0 +1,103 @@
+package com.project.loan.repo;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.project.loan.dto.LoanRequestCursor;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.models.LoanRequest;
+import com.project.loan.models.LoanStatus;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Construye la consulta de listado con solo los predicados de los filtros informados. Cada
+ * combinación de filtros genera una sentencia distinta, de modo que PostgreSQL la planifica con el
+ * índice compuesto que le corresponde en lugar de un plan genérico para "(:x IS NULL OR col = :x)".
+ */
+public class LoanRequestRepositoryCustomImpl implements LoanRequestRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<LoanRequestResponseDTO> findPageByFilters(LoanStatus status, Long clientId, String currency,
+                                                          LoanRequestCursor after, int limit) {
+        return createFilterQuery(status, clientId, currency, after).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Stream<LoanRequestResponseDTO> streamByFilters(LoanStatus status, Long clientId, String currency, int fetchSize) {
+        // Proyección a DTO: las filas no se añaden al contexto de persistencia, así que la memoria no
+        // crece con el número de filas leídas
+        return createFilterQuery(status, clientId, currency, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public void insertAll(List<LoanRequest> loanRequests) {
+        // El estado se guarda por ordinal, igual que lo mapea Hibernate
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO loan_request (id, client_id, amount, currency, status, created_at, version) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, 0)",
+                loanRequests, loanRequests.size(), (ps, loanRequest) -> {
+                    ps.setLong(1, loanRequest.getId());
+                    ps.setLong(2, loanRequest.getClient().getId());
+                    ps.setObject(3, loanRequest.getAmount());
+                    ps.setString(4, loanRequest.getCurrency());
+                    ps.setInt(5, loanRequest.getStatus().ordinal());
+                    ps.setObject(6, loanRequest.getCreatedAt());
+                });
+    }
+
+    private TypedQuery<LoanRequestResponseDTO> createFilterQuery(LoanStatus status, Long clientId, String currency,
+                                                                 LoanRequestCursor after) {
+        StringBuilder jpql = new StringBuilder(LoanRequestRepository.VIEW_SELECT);
+        String separator = " WHERE ";
+        if (status != null) {
+            jpql.append(separator).append("lr.status = :status");
+            separator = " AND ";
+        }
+        if (clientId != null) {
+            jpql.append(separator).append("lr.client.id = :clientId");
+            separator = " AND ";
+        }
+        if (currency != null) {
+            jpql.append(separator).append("lr.currency = :currency");
+            separator = " AND ";
+        }
+        if (after != null) {
+            // La condición redundante "createdAt >= :afterCreatedAt" permite que el índice arranque
+            // directamente en el cursor, de modo que las páginas profundas cuestan lo mismo que la primera
+            jpql.append(separator).append("lr.createdAt >= :afterCreatedAt")
+                    .append(" AND (lr.createdAt > :afterCreatedAt OR lr.id > :afterId)");
+        }
+        jpql.append(" ORDER BY lr.createdAt, lr.id");
+
+        TypedQuery<LoanRequestResponseDTO> query = entityManager.createQuery(jpql.toString(), LoanRequestResponseDTO.class);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (clientId != null) {
+            query.setParameter("clientId", clientId);
+        }
+        if (currency != null) {
+            query.setParameter("currency", currency);
+        }
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.getCreatedAt());
+            query.setParameter("afterId", after.getId());
+        }
+        return query;
+    }
+}
@@ -0,0 +1,31 @@
+package com.project.loan.repo;
+
+import java.util.List;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import com.project.loan.models.OutboxEvent;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Bloquea el siguiente lote de eventos entregables: solo el primero pendiente de cada solicitud,
+     * así el siguiente no sale hasta que se haya confirmado la entrega del anterior. Las filas
+     * bloqueadas por otra instancia se saltan (timeout -2 = SKIP LOCKED) en lugar de esperar.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = AvailableSettings.JAKARTA_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT o FROM OutboxEvent o WHERE NOT EXISTS (SELECT p.id FROM OutboxEvent p"
+            + " WHERE p.aggregateId = o.aggregateId AND p.aggregateVersion < o.aggregateVersion) ORDER BY o.id")
+    List<OutboxEvent> findDeliverableForUpdate(Limit limit);
+}
@@ -1,5 +1,6 @@
 package com.project.loan.services;
 
+import com.project.loan.dto.BatchItemResultDTO;
 import com.project.loan.models.Client;
 import java.util.List;
 import java.util.Optional;
@@ -9,10 +10,18 @@ public interface ClientService {
     List<Client> getAllClients(String email, String dni);
     
     Optional<Client> getClientById(Long id);
+
+    Optional<Long> getClientVersion(Long id);
     
     Client createClient(Client client);
     
-    Optional<Client> updateClient(Long id, Client clientDetails);
+    Optional<Client> updateClient(Long id, Client clientDetails, Long expectedVersion);
     
     boolean deleteClient(Long id);
+
+    /**
+     * Crea un bloque de clientes ya validados en una transacción. Devuelve un resultado por cliente,
+     * en el mismo orden (index = posición en la lista).
+     */
+    List<BatchItemResultDTO> importClients(List<Client> clients);
 }
\ No newline at end of file
@@ -1,13 +1,33 @@
 package com.project.loan.services;
 
+import com.project.loan.cache.ClientCache;
+import com.project.loan.cache.ClientKeyIndex;
+import com.project.loan.dto.BatchItemResultDTO;
+import com.project.loan.events.ClientChangedEvent;
+import com.project.loan.exceptions.ClientConflictException;
+import com.project.loan.exceptions.PreconditionFailedException;
 import com.project.loan.models.Client;
 import com.project.loan.repo.ClientRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 public class ClientServiceImpl implements ClientService {
@@ -15,65 +35,203 @@ public class ClientServiceImpl implements ClientService {
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private ClientCache clientCache;
+
+    @Autowired
+    private ClientKeyIndex clientKeyIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
+    @Transactional(readOnly = true)
     public List<Client> getAllClients(String email, String dni) {
         if (email != null) {
-            return clientRepository.findByEmail(email).map(List::of).orElse(List.of());
+            return clientCache.getByEmail(email).map(List::of).orElse(List.of());
         } else if (dni != null) {
-            return clientRepository.findByDni(dni).map(List::of).orElse(List.of());
+            return clientCache.getByDni(dni).map(List::of).orElse(List.of());
         } else {
             return clientRepository.findAll();
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Client> getClientById(Long id) {
-        return clientRepository.findById(id);
+        return clientCache.getById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getClientVersion(Long id) {
+        // Si el cliente está en caché no hace falta ir a la base de datos; si no, basta con leer la versión
+        Optional<Client> cached = clientCache.peek(id);
+        if (cached.isPresent()) {
+            return Optional.of(cached.get().getVersion());
+        }
+        return clientRepository.findVersionById(id);
     }
 
     @Override
     public Client createClient(Client client) {
-        validateEmailUnique(client.getEmail());
-        validateDniUnique(client.getDni());
+        // Un único INSERT: la unicidad de DNI y email la garantizan las restricciones de la tabla
         client.setCreatedAt(LocalDateTime.now());
-        return clientRepository.save(client);
+        Client savedClient = saveUnique(client, null);
+        eventPublisher.publishEvent(new ClientChangedEvent(savedClient.getId(), savedClient, null, null));
+        return savedClient;
     }
 
     @Override
-    public Optional<Client> updateClient(Long id, Client clientDetails) {
+    @Transactional
+    public Optional<Client> updateClient(Long id, Client clientDetails, Long expectedVersion) {
         return clientRepository.findById(id)
                 .map(client -> {
-                    if (!client.getEmail().equals(clientDetails.getEmail())) {
-                        validateEmailUnique(clientDetails.getEmail());
-                    }
-                    if (!client.getDni().equals(clientDetails.getDni())) {
-                        validateDniUnique(clientDetails.getDni());
+                    if (expectedVersion != null && !expectedVersion.equals(client.getVersion())) {
+                        throw new PreconditionFailedException("El cliente ha cambiado desde la versión " + expectedVersion,
+                                client.getVersion());
                     }
+                    String previousDni = client.getDni();
+                    String previousEmail = client.getEmail();
+                    // Se desaloja ya para que esta transacción no sirva la versión antigua; la nueva se
+                    // guarda en caché después del commit (ClientChangedEvent)
+                    clientCache.evict(client);
                     client.setName(clientDetails.getName());
                     client.setEmail(clientDetails.getEmail());
                     client.setDni(clientDetails.getDni());
-                    return clientRepository.save(client);
+                    Client savedClient = saveUnique(client, expectedVersion);
+                    eventPublisher.publishEvent(new ClientChangedEvent(id, savedClient, previousDni, previousEmail));
+                    return savedClient;
                 });
     }
 
     @Override
+    @Transactional
     public boolean deleteClient(Long id) {
-        if (clientRepository.existsById(id)) {
-            clientRepository.deleteById(id);
-            return true;
+        // Un único DELETE: las filas afectadas indican si el cliente existía
+        if (clientRepository.deleteClientById(id) == 0) {
+            return false;
         }
-        return false;
+        clientCache.evict(id);
+        eventPublisher.publishEvent(new ClientChangedEvent(id, null, null, null));
+        return true;
     }
 
-    private void validateEmailUnique(String email) {
-        if (clientRepository.existsByEmail(email)) {
-            throw new RuntimeException("Ya existe un cliente con ese email");
+    @Override
+    @Transactional
+    public List<BatchItemResultDTO> importClients(List<Client> clients) {
+        BatchItemResultDTO[] results = new BatchItemResultDTO[clients.size()];
+
+        // Repetidos dentro del bloque: se queda la primera aparición. Los repetidos respecto a bloques
+        // anteriores del mismo fichero ya están en la base de datos y los detecta la consulta siguiente
+        Set<String> dnis = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < clients.size(); i++) {
+            Client client = clients.get(i);
+            if (dnis.contains(client.getDni())) {
+                results[i] = BatchItemResultDTO.rejected(i, "DNI repetido en el fichero");
+            } else if (client.getEmail() != null && emails.contains(client.getEmail())) {
+                results[i] = BatchItemResultDTO.rejected(i, "Email repetido en el fichero");
+            } else {
+                dnis.add(client.getDni());
+                if (client.getEmail() != null) {
+                    emails.add(client.getEmail());
+                }
+            }
         }
+
+        // Una consulta por campo para todo el bloque, solo con las claves que el índice no descarta: en
+        // una importación de clientes nuevos la mayoría son fallos seguros y la consulta suele evitarse
+        Set<String> existingDnis = findExisting(dnis, clientKeyIndex::mightContainDni, clientRepository::findExistingDnis);
+        Set<String> existingEmails = findExisting(emails, clientKeyIndex::mightContainEmail, clientRepository::findExistingEmails);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Client> toInsert = new ArrayList<>();
+        List<Integer> insertIndexes = new ArrayList<>();
+        for (int i = 0; i < clients.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            Client client = clients.get(i);
+            if (existingDnis.contains(client.getDni())) {
+                results[i] = BatchItemResultDTO.rejected(i, "Ya existe un cliente con ese DNI");
+            } else if (client.getEmail() != null && existingEmails.contains(client.getEmail())) {
+                results[i] = BatchItemResultDTO.rejected(i, "Ya existe un cliente con ese email");
+            } else {
+                client.setCreatedAt(now);
+                toInsert.add(client);
+                insertIndexes.add(i);
+            }
+        }
+
+        if (!toInsert.isEmpty()) {
+            // ON CONFLICT DO NOTHING cubre los clientes creados por otra petición tras la consulta anterior
+            Map<String, Long> ids = clientRepository.insertIgnoringConflicts(toInsert);
+            for (int j = 0; j < toInsert.size(); j++) {
+                int index = insertIndexes.get(j);
+                Long id = ids.get(toInsert.get(j).getDni());
+                if (id == null) {
+                    results[index] = BatchItemResultDTO.rejected(index, "Ya existe un cliente con ese DNI o email");
+                } else {
+                    clientKeyIndex.add(toInsert.get(j));
+                    results[index] = BatchItemResultDTO.created(index, id);
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private Set<String> findExisting(Set<String> keys, Predicate<String> mightExist,
+                                     Function<Collection<String>, List<String>> lookup) {
+        Set<String> candidates = keys.stream().filter(mightExist).collect(Collectors.toSet());
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> existing = new HashSet<>(lookup.apply(candidates));
+        clientKeyIndex.recordFalsePositives(candidates.size() - existing.size());
+        return existing;
     }
 
-    private void validateDniUnique(String dni) {
-        if (clientRepository.existsByDni(dni)) {
-            throw new RuntimeException("Ya existe un cliente con ese DNI");
+    /**
+     * Guarda el cliente traduciendo los errores de escritura. Si otra escritura cambia el cliente entre
+     * la lectura y el guardado, el resultado es 412 solo cuando la petición envió If-Match; sin
+     * precondición es un conflicto (409).
+     */
+    private Client saveUnique(Client client, Long expectedVersion) {
+        try {
+            return clientRepository.saveAndFlush(client);
+        } catch (DataIntegrityViolationException e) {
+            throw toConflict(e);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            if (expectedVersion != null) {
+                throw new PreconditionFailedException("El cliente ha cambiado desde la versión " + expectedVersion, null);
+            }
+            throw new ClientConflictException("version", "El cliente ha sido modificado por otra petición", e);
+        }
+    }
+
+    /**
+     * Traduce la violación de una restricción única al conflicto del campo afectado. Se busca primero
+     * el nombre de la restricción y, si la base de datos no lo informa, la columna en el mensaje.
+     */
+    private RuntimeException toConflict(DataIntegrityViolationException e) {
+        String detail = "";
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                detail = violation.getConstraintName() + " " + detail;
+            }
+            if (cause.getMessage() != null) {
+                detail = detail + " " + cause.getMessage();
+            }
+        }
+        detail = detail.toLowerCase(Locale.ROOT);
+
+        if (detail.contains(Client.DNI_UNIQUE_CONSTRAINT) || detail.contains("(dni)")) {
+            return new ClientConflictException("dni", "Ya existe un cliente con ese DNI", e);
+        }
+        if (detail.contains(Client.EMAIL_UNIQUE_CONSTRAINT) || detail.contains("(email)")) {
+            return new ClientConflictException("email", "Ya existe un cliente con ese email", e);
         }
+        return new RuntimeException("Error de integridad al guardar el cliente", e);
     }
-}
\ No newline at end of file
+}
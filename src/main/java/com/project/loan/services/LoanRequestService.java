@@ -1,19 +1,34 @@
 package com.project.loan.services;
 
-import com.project.loan.models.LoanRequest;
 import com.project.loan.models.LoanStatus;
 import com.project.loan.dto.CreateLoanRequestDTO;
+import com.project.loan.dto.BatchItemResultDTO;
+import com.project.loan.dto.BulkChangeLoanStatusDTO;
 import com.project.loan.dto.ChangeLoanStatusDTO;
+import com.project.loan.dto.CursorPageDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.dto.StatusTransitionResultDTO;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface LoanRequestService {
     
-    List<LoanRequest> getAllLoanRequests(LoanStatus status, Long clientId, String currency);
+    CursorPageDTO<LoanRequestResponseDTO> getAllLoanRequests(LoanStatus status, Long clientId, String currency,
+                                                             String after, Integer limit);
     
-    Optional<LoanRequest> getLoanRequestById(Long id);
+    Optional<LoanRequestResponseDTO> getLoanRequestById(Long id);
+
+    Optional<Long> getLoanRequestVersion(Long id);
+
+    void exportLoanRequests(LoanStatus status, Long clientId, String currency, Consumer<LoanRequestResponseDTO> consumer);
     
-    LoanRequest createLoanRequest(CreateLoanRequestDTO createLoanRequestDTO);
+    LoanRequestResponseDTO createLoanRequest(CreateLoanRequestDTO createLoanRequestDTO);
+
+    List<BatchItemResultDTO> createLoanRequests(List<CreateLoanRequestDTO> createLoanRequestDTOs);
     
-    Optional<LoanRequest> updateLoanRequestStatus(Long id, ChangeLoanStatusDTO changeLoanStatusDTO);
-}
\ No newline at end of file
+    Optional<LoanRequestResponseDTO> updateLoanRequestStatus(Long id, ChangeLoanStatusDTO changeLoanStatusDTO,
+                                                             Long expectedVersion);
+
+    List<StatusTransitionResultDTO> updateLoanRequestStatuses(BulkChangeLoanStatusDTO bulkChangeLoanStatusDTO);
+}
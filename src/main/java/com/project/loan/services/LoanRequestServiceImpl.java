@@ -1,78 +1,420 @@
 package com.project.loan.services;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.project.loan.cache.ClientCache;
+import com.project.loan.cache.LoanRequestPageCache;
+import com.project.loan.dto.BatchItemResultDTO;
+import com.project.loan.dto.BatchItemStatus;
+import com.project.loan.dto.BulkChangeLoanStatusDTO;
 import com.project.loan.dto.ChangeLoanStatusDTO;
 import com.project.loan.dto.CreateLoanRequestDTO;
+import com.project.loan.dto.CursorPageDTO;
+import com.project.loan.dto.LoanRequestCursor;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.dto.StatusTransitionResultDTO;
+import com.project.loan.events.LoanRequestCreatedEvent;
+import com.project.loan.events.LoanStatusChangedEvent;
+import com.project.loan.exceptions.PreconditionFailedException;
 import com.project.loan.mappers.LoanRequestMapper;
+import com.project.loan.metrics.LoanMetrics;
 import com.project.loan.models.LoanRequest;
 import com.project.loan.models.LoanStatus;
 import com.project.loan.models.Client;
 import com.project.loan.repo.LoanRequestRepository;
 import com.project.loan.repo.ClientRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 
 @Service
 public class LoanRequestServiceImpl implements LoanRequestService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 500;
+    // Tamaño máximo de las listas IN de los cambios de estado por lotes
+    static final int STATUS_CHUNK_SIZE = 500;
+
+    // Tabla de transiciones invertida: para cada estado destino, los estados desde los que se puede llegar
+    private static final Map<LoanStatus, Set<LoanStatus>> ALLOWED_FROM = new EnumMap<>(LoanStatus.class);
+
+    static {
+        for (LoanStatus target : LoanStatus.values()) {
+            Set<LoanStatus> allowedFrom = EnumSet.noneOf(LoanStatus.class);
+            for (LoanStatus current : LoanStatus.values()) {
+                if (isValidStatusTransition(current, target)) {
+                    allowedFrom.add(current);
+                }
+            }
+            ALLOWED_FROM.put(target, allowedFrom);
+        }
+    }
+
     @Autowired
     private LoanRequestRepository loanRequestRepository;
     
     @Autowired
     private ClientRepository clientRepository;
 
+    @Autowired
+    private ClientCache clientCache;
+
+    @Autowired
+    private LoanRequestPageCache loanRequestPageCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
     private LoanRequestMapper loanRequestMapper;
 
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private LoanMetrics loanMetrics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${loan.batch.max-items:10000}")
+    private int maxBatchItems;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @Value("${loan.export.fetch-size:1000}")
+    private int exportFetchSize;
+
     @Override
-    public List<LoanRequest> getAllLoanRequests(LoanStatus status, Long clientId, String currency) {
-        if (clientId != null) {
-            if (!clientRepository.existsById(clientId)) {
-                throw new RuntimeException("Cliente no encontrado");
-            }
+    public CursorPageDTO<LoanRequestResponseDTO> getAllLoanRequests(LoanStatus status, Long clientId, String currency,
+                                                                    String after, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        // Sin transacción en los aciertos: solo los fallos de caché abren una (de solo lectura) y van a la base de datos
+        LoanRequestPageCache.Key key = new LoanRequestPageCache.Key(status, clientId, currency,
+                after == null || after.isBlank() ? null : after, pageSize);
+        return loanRequestPageCache.get(key, () -> readOnlyTransaction().execute(tx ->
+                loadPage(status, clientId, currency, after, pageSize)));
+    }
+
+    private CursorPageDTO<LoanRequestResponseDTO> loadPage(LoanStatus status, Long clientId, String currency,
+                                                          String after, int pageSize) {
+        LoanRequestCursor cursor = after == null || after.isBlank() ? null : LoanRequestCursor.decode(after);
+        // Se pide un elemento de más para saber si existe una página siguiente sin lanzar un COUNT
+        List<LoanRequestResponseDTO> rows = loanRequestRepository.findPageByFilters(status, clientId, currency,
+                cursor, pageSize + 1);
+        // Solo una página vacía puede deberse a un cliente inexistente: en el resto de casos se evita la consulta
+        if (rows.isEmpty() && clientId != null && clientCache.peek(clientId).isEmpty()
+                && !clientRepository.existsById(clientId)) {
+            throw new RuntimeException("Cliente no encontrado");
+        }
+
+        if (rows.size() <= pageSize) {
+            return new CursorPageDTO<>(rows, null);
         }
-        return loanRequestRepository.findByFilters(status, clientId, currency);
+        List<LoanRequestResponseDTO> items = rows.subList(0, pageSize);
+        return new CursorPageDTO<>(items, LoanRequestCursor.of(items.get(pageSize - 1)).encode());
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LoanRequestResponseDTO> getLoanRequestById(Long id) {
+        return loanRequestRepository.findViewById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> getLoanRequestVersion(Long id) {
+        return loanRequestRepository.findVersionById(id);
     }
 
     @Override
-    public Optional<LoanRequest> getLoanRequestById(Long id) {
-        return loanRequestRepository.findById(id);
+    @Transactional(readOnly = true)
+    public void exportLoanRequests(LoanStatus status, Long clientId, String currency,
+                                   Consumer<LoanRequestResponseDTO> consumer) {
+        // La transacción mantiene abierto el cursor JDBC mientras se escriben las filas
+        try (Stream<LoanRequestResponseDTO> rows = loanRequestRepository.streamByFilters(status, clientId, currency,
+                exportFetchSize)) {
+            rows.forEach(consumer);
+        }
     }
 
     @Override
-    public LoanRequest createLoanRequest(CreateLoanRequestDTO createLoanRequestDTO) {
-        Client client = clientRepository.findById(createLoanRequestDTO.getClientId())
+    @Transactional
+    public LoanRequestResponseDTO createLoanRequest(CreateLoanRequestDTO createLoanRequestDTO) {
+        Client client = clientCache.getById(createLoanRequestDTO.getClientId())
                 .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
 
         LoanRequest loanRequest = loanRequestMapper.toEntity(createLoanRequestDTO, client);
         loanRequest.setStatus(LoanStatus.PENDING);
         loanRequest.setCreatedAt(java.time.LocalDateTime.now());
-        return loanRequestRepository.save(loanRequest);
+        LoanRequest savedLoanRequest = loanRequestRepository.save(loanRequest);
+        LoanRequestResponseDTO created = loanRequestMapper.toResponse(savedLoanRequest);
+        loanMetrics.loanCreated();
+        publishCreated(savedLoanRequest);
+        return created;
+    }
+
+    @Override
+    @Transactional
+    public List<BatchItemResultDTO> createLoanRequests(List<CreateLoanRequestDTO> createLoanRequestDTOs) {
+        if (createLoanRequestDTOs.size() > maxBatchItems) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + maxBatchItems + " solicitudes");
+        }
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[createLoanRequestDTOs.size()];
+        Set<Long> clientIds = new HashSet<>();
+        for (int i = 0; i < createLoanRequestDTOs.size(); i++) {
+            CreateLoanRequestDTO dto = createLoanRequestDTOs.get(i);
+            String error = validate(dto);
+            if (error != null) {
+                results[i] = BatchItemResultDTO.rejected(i, error);
+            } else {
+                clientIds.add(dto.getClientId());
+            }
+        }
+
+        // Como mucho una única consulta para los clientes del lote que no estén ya en caché
+        Map<Long, Client> clients = clientCache.getAllById(clientIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LoanRequest> chunk = new ArrayList<>(jdbcBatchSize);
+        List<Integer> chunkIndexes = new ArrayList<>(jdbcBatchSize);
+        for (int i = 0; i < createLoanRequestDTOs.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            CreateLoanRequestDTO dto = createLoanRequestDTOs.get(i);
+            Client client = clients.get(dto.getClientId());
+            if (client == null) {
+                results[i] = BatchItemResultDTO.rejected(i, "Cliente no encontrado");
+                continue;
+            }
+            LoanRequest loanRequest = loanRequestMapper.toEntity(dto, client);
+            loanRequest.setStatus(LoanStatus.PENDING);
+            loanRequest.setCreatedAt(now);
+            chunk.add(loanRequest);
+            chunkIndexes.add(i);
+            if (chunk.size() == jdbcBatchSize) {
+                flushChunk(chunk, chunkIndexes, results);
+            }
+        }
+        flushChunk(chunk, chunkIndexes, results);
+        loanMetrics.loansCreated("batch", (int) Arrays.stream(results)
+                .filter(result -> result.getStatus() == BatchItemStatus.CREATED)
+                .count());
+        return List.of(results);
+    }
+
+    // Persiste un bloque como un único batch JDBC y libera el contexto de persistencia para
+    // que la memoria no crezca con el tamaño del lote
+    private void flushChunk(List<LoanRequest> chunk, List<Integer> chunkIndexes, BatchItemResultDTO[] results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (LoanRequest loanRequest : chunk) {
+            entityManager.persist(loanRequest);
+        }
+        // Los IDs ya están asignados tras persist; los eventos se publican antes del flush para que las
+        // filas de la outbox que generan entren en el mismo flush y no se pierdan con el clear
+        for (LoanRequest loanRequest : chunk) {
+            publishCreated(loanRequest);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        for (int i = 0; i < chunk.size(); i++) {
+            int index = chunkIndexes.get(i);
+            results[index] = BatchItemResultDTO.created(index, chunk.get(i).getId());
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    private void publishCreated(LoanRequest loanRequest) {
+        eventPublisher.publishEvent(new LoanRequestCreatedEvent(loanRequest.getId(), loanRequest.getClient().getId(),
+                loanRequest.getAmount(), loanRequest.getCurrency(), loanRequest.getStatus(), loanRequest.getVersion()));
+    }
+
+    private String validate(CreateLoanRequestDTO dto) {
+        if (dto == null) {
+            return "Solicitud vacía";
+        }
+        Set<ConstraintViolation<CreateLoanRequestDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
     }
 
     @Override
-    public Optional<LoanRequest> updateLoanRequestStatus(Long id, ChangeLoanStatusDTO newStatus) {
-        return loanRequestRepository.findById(id)
-                .map(loanRequest -> {
-                    LoanStatus currentStatus = loanRequest.getStatus();
-                    
-                    if (!isValidStatusTransition(currentStatus, newStatus.getStatus())) {
-                        throw new RuntimeException("Transición de estado no permitida: " + 
-                                currentStatus + " -> " + newStatus.getStatus());
-                    }
-
-                    loanRequest.setStatus(newStatus.getStatus());
-                    
-                    return loanRequestRepository.save(loanRequest);
-                });
-    }
-
-    private boolean isValidStatusTransition(LoanStatus current, LoanStatus newStatus) {
+    @Transactional
+    public Optional<LoanRequestResponseDTO> updateLoanRequestStatus(Long id, ChangeLoanStatusDTO newStatus,
+                                                                    Long expectedVersion) {
+        LoanStatus targetStatus = newStatus.getStatus();
+        if (targetStatus == null) {
+            throw new IllegalArgumentException("El estado es obligatorio");
+        }
+
+        // Compare-and-set en una única sentencia: la comprobación de la transición y la escritura
+        // son atómicas, así que dos cambios concurrentes no pueden aplicarse ambos
+        // Con If-Match la versión forma parte de la misma condición, así que no hace falta leer antes de escribir
+        // Un compare-and-set por estado de origen permitido (normalmente hay uno solo): el que aplica el
+        // cambio indica el estado anterior real, que necesitan el evento, las estadísticas y las métricas
+        LoanStatus previousStatus = null;
+        for (LoanStatus from : ALLOWED_FROM.get(targetStatus)) {
+            int updated = expectedVersion == null
+                    ? loanRequestRepository.compareAndSetStatus(id, from, targetStatus)
+                    : loanRequestRepository.compareAndSetStatus(id, from, targetStatus, expectedVersion);
+            if (updated > 0) {
+                previousStatus = from;
+                break;
+            }
+        }
+
+        if (previousStatus == null) {
+            // Solo en el caso de fallo se consulta el estado para distinguir "no existe", "versión distinta"
+            // y "transición no válida"
+            LoanStatus currentStatus = loanRequestRepository.findStatusById(id).orElse(null);
+            if (currentStatus == null) {
+                return Optional.empty();
+            }
+            if (expectedVersion != null) {
+                Long currentVersion = loanRequestRepository.findVersionById(id).orElse(null);
+                if (!expectedVersion.equals(currentVersion)) {
+                    throw new PreconditionFailedException("La solicitud ha cambiado desde la versión " + expectedVersion,
+                            currentVersion);
+                }
+            }
+            loanMetrics.transitionRejected(currentStatus, targetStatus);
+            throw new RuntimeException("Transición de estado no permitida: " + 
+                    currentStatus + " -> " + targetStatus);
+        }
+        loanMetrics.transitionApplied(previousStatus, targetStatus);
+        Optional<LoanRequestResponseDTO> updatedView = loanRequestRepository.findViewById(id);
+        LoanStatus fromStatus = previousStatus;
+        updatedView.ifPresent(view -> eventPublisher.publishEvent(new LoanStatusChangedEvent(view.getId(),
+                view.getClientId(), view.getAmount(), view.getCurrency(), fromStatus, targetStatus, view.getVersion())));
+        return updatedView;
+    }
+
+    @Override
+    @Transactional
+    public List<StatusTransitionResultDTO> updateLoanRequestStatuses(BulkChangeLoanStatusDTO bulkChangeLoanStatusDTO) {
+        LoanStatus targetStatus = bulkChangeLoanStatusDTO.getStatus();
+        if (targetStatus == null) {
+            throw new IllegalArgumentException("El estado es obligatorio");
+        }
+        List<Long> requestedIds = bulkChangeLoanStatusDTO.getIds();
+        if (requestedIds == null || requestedIds.isEmpty()) {
+            throw new IllegalArgumentException("La lista de IDs es obligatoria");
+        }
+        if (requestedIds.size() > maxBatchItems) {
+            throw new IllegalArgumentException("El lote supera el máximo de " + maxBatchItems + " solicitudes");
+        }
+
+        Set<LoanStatus> allowedFrom = ALLOWED_FROM.get(targetStatus);
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(requestedIds));
+        Map<Long, StatusTransitionResultDTO> results = new HashMap<>();
+        Map<LoanStatus, Integer> appliedBySource = new EnumMap<>(LoanStatus.class);
+        for (int start = 0; start < ids.size(); start += STATUS_CHUNK_SIZE) {
+            updateStatusChunk(ids.subList(start, Math.min(start + STATUS_CHUNK_SIZE, ids.size())),
+                    allowedFrom, targetStatus, results, appliedBySource);
+        }
+        appliedBySource.forEach((from, count) -> loanMetrics.transitionsApplied(from, targetStatus, count));
+
+        List<StatusTransitionResultDTO> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ordered.add(results.get(id));
+        }
+        return ordered;
+    }
+
+    // Dos sentencias por bloque: un SELECT ... FOR UPDATE que fija el estado actual de las filas y un
+    // único UPDATE condicional para las que admiten la transición
+    private void updateStatusChunk(List<Long> ids, Set<LoanStatus> allowedFrom, LoanStatus targetStatus,
+                                   Map<Long, StatusTransitionResultDTO> results,
+                                   Map<LoanStatus, Integer> appliedBySource) {
+        List<LoanStatusChangedEvent> events = new ArrayList<>();
+        for (LoanRequest loanRequest : loanRequestRepository.findAllByIdForUpdate(ids)) {
+            LoanStatus currentStatus = loanRequest.getStatus();
+            if (allowedFrom.contains(currentStatus)) {
+                results.put(loanRequest.getId(), StatusTransitionResultDTO.applied(loanRequest.getId(), targetStatus));
+                events.add(new LoanStatusChangedEvent(loanRequest.getId(), loanRequest.getClient().getId(),
+                        loanRequest.getAmount(), loanRequest.getCurrency(), currentStatus, targetStatus,
+                        loanRequest.getVersion() + 1));
+            } else {
+                results.put(loanRequest.getId(),
+                        StatusTransitionResultDTO.invalidTransition(loanRequest.getId(), currentStatus));
+                loanMetrics.transitionRejected(currentStatus, targetStatus);
+            }
+        }
+        for (Long id : ids) {
+            results.putIfAbsent(id, StatusTransitionResultDTO.notFound(id));
+        }
+
+        if (!events.isEmpty()) {
+            List<Long> eligibleIds = events.stream().map(LoanStatusChangedEvent::getLoanRequestId).toList();
+            int updated = loanRequestRepository.compareAndSetStatuses(eligibleIds, allowedFrom, targetStatus);
+            if (updated != eligibleIds.size()) {
+                // No debería ocurrir con las filas bloqueadas; se deshace todo el lote antes que informar mal
+                throw new IllegalStateException("Se esperaban " + eligibleIds.size()
+                        + " cambios de estado y se han aplicado " + updated);
+            }
+            for (LoanStatusChangedEvent event : events) {
+                appliedBySource.merge(event.getPreviousStatus(), 1, Integer::sum);
+                eventPublisher.publishEvent(event);
+            }
+        }
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        return limit;
+    }
+
+    private static boolean isValidStatusTransition(LoanStatus current, LoanStatus newStatus) {
         switch (current) {
             case PENDING:
                 return newStatus == LoanStatus.APPROVED || newStatus == LoanStatus.REJECTED;
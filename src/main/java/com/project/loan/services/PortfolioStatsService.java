@@ -0,0 +1,10 @@
+package com.project.loan.services;
+
+import com.project.loan.dto.PortfolioStatsDTO;
+
+public interface PortfolioStatsService {
+
+    PortfolioStatsDTO getStats();
+
+    PortfolioStatsDTO reconcile();
+}
@@ -0,0 +1,154 @@
+package com.project.loan.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.project.loan.dto.PortfolioStatsDTO;
+import com.project.loan.dto.PortfolioStatsRowDTO;
+import com.project.loan.events.LoanRequestCreatedEvent;
+import com.project.loan.events.LoanStatusChangedEvent;
+import com.project.loan.models.LoanStatus;
+import com.project.loan.repo.LoanRequestRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Agregados en memoria de la cartera (número de solicitudes e importe total por estado y divisa).
+ *
+ * Se reconstruyen desde la base de datos al arrancar y bajo demanda, y se actualizan con los eventos
+ * de creación y cambio de estado tras el commit. Las lecturas no consultan la tabla de solicitudes.
+ * Los cambios confirmados mientras se ejecuta una reconstrucción pueden quedar fuera del nuevo
+ * snapshot; una reconciliación posterior los corrige.
+ *
+ * La carga inicial se hace en segundo plano para no retrasar el arranque. Una lectura que llega antes
+ * espera a que termine (o la hace ella misma si ha fallado) en lugar de devolver agregados vacíos.
+ */
+@Slf4j
+@Service
+public class PortfolioStatsServiceImpl implements PortfolioStatsService {
+
+    @Autowired
+    private LoanRequestRepository loanRequestRepository;
+
+    // Null hasta la primera carga
+    private volatile Snapshot snapshot;
+
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    @Override
+    public PortfolioStatsDTO getStats() {
+        Snapshot current = snapshot;
+        return current != null ? current.toDTO() : loaded().toDTO();
+    }
+
+    @Override
+    public PortfolioStatsDTO reconcile() {
+        Snapshot previous = snapshot;
+        rebuild();
+        PortfolioStatsDTO current = snapshot.toDTO();
+        if (previous != null && !previous.toDTO().getRows().equals(current.getRows())) {
+            log.warn("Portfolio stats drift corrected: before={}, after={}", previous.toDTO().getRows(), current.getRows());
+        }
+        return current;
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        // Las reconstrucciones no se solapan; una lectura que espera la carga inicial espera a este bloqueo
+        rebuildLock.lock();
+        try {
+            Snapshot rebuilt = new Snapshot(LocalDateTime.now());
+            for (PortfolioStatsRowDTO row : loanRequestRepository.aggregateByStatusAndCurrency()) {
+                rebuilt.add(row.getStatus(), row.getCurrency(), row.getCount(), row.getTotalAmount());
+            }
+            snapshot = rebuilt;
+            log.info("Portfolio stats rebuilt from database: {} buckets", rebuilt.buckets.size());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot loaded() {
+        rebuildLock.lock();
+        try {
+            if (snapshot == null) {
+                rebuild();
+            }
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    // Antes de la primera carga los eventos se ignoran: la carga lee las filas ya confirmadas
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanRequestCreated(LoanRequestCreatedEvent event) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.add(event.getStatus(), event.getCurrency(), 1, event.getAmount());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLoanStatusChanged(LoanStatusChangedEvent event) {
+        Snapshot current = snapshot;
+        if (current != null) {
+            current.add(event.getPreviousStatus(), event.getCurrency(), -1, negate(event.getAmount()));
+            current.add(event.getNewStatus(), event.getCurrency(), 1, event.getAmount());
+        }
+    }
+
+    private static Double negate(Double amount) {
+        return amount == null ? null : -amount;
+    }
+
+    private record Key(LoanStatus status, String currency) {
+    }
+
+    private static final class Bucket {
+        final LongAdder count = new LongAdder();
+        final DoubleAdder totalAmount = new DoubleAdder();
+    }
+
+    private static final class Snapshot {
+
+        final Map<Key, Bucket> buckets = new ConcurrentHashMap<>();
+        final LocalDateTime rebuiltAt;
+
+        Snapshot(LocalDateTime rebuiltAt) {
+            this.rebuiltAt = rebuiltAt;
+        }
+
+        void add(LoanStatus status, String currency, long count, Double amount) {
+            Bucket bucket = buckets.computeIfAbsent(new Key(status, currency), key -> new Bucket());
+            bucket.count.add(count);
+            if (amount != null) {
+                bucket.totalAmount.add(amount);
+            }
+        }
+
+        PortfolioStatsDTO toDTO() {
+            List<PortfolioStatsRowDTO> rows = new ArrayList<>(buckets.size());
+            buckets.forEach((key, bucket) -> rows.add(new PortfolioStatsRowDTO(key.status(), key.currency(),
+                    bucket.count.sum(), bucket.totalAmount.sum())));
+            rows.sort(Comparator.comparing(PortfolioStatsRowDTO::getStatus)
+                    .thenComparing(PortfolioStatsRowDTO::getCurrency, Comparator.nullsFirst(Comparator.naturalOrder())));
+            return new PortfolioStatsDTO(rows, rebuiltAt);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.loan.writebehind;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.loan.events.LoanRequestCreatedEvent;
+import com.project.loan.metrics.LoanMetrics;
+import com.project.loan.models.LoanRequest;
+import com.project.loan.repo.LoanRequestRepository;
+
+/**
+ * Persiste un grupo de solicitudes de la escritura diferida en una única transacción: un batch JDBC
+ * con las filas, sus eventos en la outbox y un solo commit para todo el grupo.
+ */
+@Component
+@ConditionalOnProperty(name = "loan.write-behind.enabled", havingValue = "true")
+public class LoanRequestGroupWriter {
+
+    @Autowired
+    private LoanRequestRepository loanRequestRepository;
+
+    @Autowired
+    private LoanMetrics loanMetrics;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public void write(List<LoanRequest> loanRequests) {
+        loanRequestRepository.insertAll(loanRequests);
+        for (LoanRequest loanRequest : loanRequests) {
+            eventPublisher.publishEvent(new LoanRequestCreatedEvent(loanRequest.getId(), loanRequest.getClient().getId(),
+                    loanRequest.getAmount(), loanRequest.getCurrency(), loanRequest.getStatus(), 0L));
+        }
+        loanMetrics.loansCreated("write_behind", loanRequests.size());
+    }
+}
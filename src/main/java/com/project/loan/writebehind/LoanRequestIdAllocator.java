@@ -0,0 +1,44 @@
+package com.project.loan.writebehind;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.project.loan.models.LoanRequest;
+
+/**
+ * Asigna IDs de solicitud sin insertar la fila, a partir de bloques de la misma secuencia que usa
+ * Hibernate. Sigue la regla del optimizador pooled-lo configurado en application.yml: el valor v
+ * devuelto por la secuencia reserva los IDs [v, v + 50), y como cada llamada devuelve un valor
+ * distinto los bloques de ambos nunca se solapan. Solo consulta la base de datos una vez cada
+ * ID_ALLOCATION_SIZE IDs.
+ */
+@Component
+public class LoanRequestIdAllocator {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long next;
+    private long last = -1;
+
+    public long nextId() {
+        lock.lock();
+        try {
+            if (next > last) {
+                next = nextSequenceValue();
+                last = next + LoanRequest.ID_ALLOCATION_SIZE - 1;
+            }
+            return next++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long nextSequenceValue() {
+        return jdbcTemplate.queryForObject("SELECT nextval('" + LoanRequest.ID_SEQUENCE + "')", Long.class);
+    }
+}
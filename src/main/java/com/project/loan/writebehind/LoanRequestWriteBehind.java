@@ -0,0 +1,253 @@
+package com.project.loan.writebehind;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.project.loan.cache.ClientCache;
+import com.project.loan.dto.CreateLoanRequestDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.exceptions.WriteBehindRejectedException;
+import com.project.loan.mappers.LoanRequestMapper;
+import com.project.loan.models.Client;
+import com.project.loan.models.LoanRequest;
+import com.project.loan.models.LoanStatus;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creación diferida de solicitudes de préstamo (loan.write-behind.enabled). La petición valida el
+ * cliente, asigna el ID y encola la solicitud en memoria; un único hilo escritor la persiste junto con
+ * las que se hayan acumulado mientras tanto en una sola transacción (group commit), de modo que con
+ * carga alta el coste del commit se reparte entre muchas peticiones.
+ *
+ * Durabilidad: una solicitud aceptada (202) está solo en memoria hasta que se confirma su grupo.
+ * Una parada ordenada vacía la cola antes de cerrar la base de datos, pero si el proceso cae se
+ * pierden las solicitudes encoladas. Un error transitorio de la base de datos reintenta el grupo
+ * indefinidamente, mientras la cola llena rechaza las nuevas con 503. Un grupo que falla por otro
+ * motivo se reintenta solicitud a solicitud y las que vuelven a fallar se descartan con un error en el log.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "loan.write-behind.enabled", havingValue = "true")
+public class LoanRequestWriteBehind implements SmartLifecycle, MeterBinder {
+
+    private static final Duration MAX_RETRY_DELAY = Duration.ofSeconds(5);
+
+    @Autowired
+    private ClientCache clientCache;
+
+    @Autowired
+    private LoanRequestMapper loanRequestMapper;
+
+    @Autowired
+    private LoanRequestIdAllocator idAllocator;
+
+    @Autowired
+    private LoanRequestGroupWriter groupWriter;
+
+    @Value("${loan.write-behind.max-batch-size:500}")
+    private int maxBatchSize;
+
+    @Value("${loan.write-behind.shutdown-timeout:30s}")
+    private Duration shutdownTimeout;
+
+    private final BlockingQueue<LoanRequest> queue;
+    // Solicitudes aceptadas y aún no confirmadas, para responder a GET /{id} mientras tanto
+    private final Map<Long, LoanRequestResponseDTO> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private DistributionSummary batchSizes;
+
+    private volatile boolean running;
+    // Solo lo usan start y stop, a los que Spring llama desde un único hilo
+    private Thread writer;
+
+    public LoanRequestWriteBehind(@Value("${loan.write-behind.queue-capacity:10000}") int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Acepta una solicitud para persistirla más tarde y devuelve su vista en estado PENDING, ya con ID.
+     *
+     * @throws RuntimeException si el cliente no existe
+     * @throws WriteBehindRejectedException si la cola está llena o la aplicación se está deteniendo
+     */
+    public LoanRequestResponseDTO submit(CreateLoanRequestDTO createLoanRequestDTO) {
+        if (!running) {
+            rejected.increment();
+            throw new WriteBehindRejectedException("La aplicación se está deteniendo");
+        }
+        Client client = clientCache.getById(createLoanRequestDTO.getClientId())
+                .orElseThrow(() -> new RuntimeException("Cliente no encontrado"));
+
+        LoanRequest loanRequest = loanRequestMapper.toEntity(createLoanRequestDTO, client);
+        loanRequest.setId(idAllocator.nextId());
+        loanRequest.setStatus(LoanStatus.PENDING);
+        loanRequest.setCreatedAt(LocalDateTime.now());
+        LoanRequestResponseDTO view = loanRequestMapper.toResponse(loanRequest);
+
+        // Se registra antes de encolar para que el escritor no pueda confirmarla antes de que exista
+        pending.put(loanRequest.getId(), view);
+        if (!queue.offer(loanRequest)) {
+            pending.remove(loanRequest.getId());
+            rejected.increment();
+            throw new WriteBehindRejectedException("La cola de escritura está llena");
+        }
+        return view;
+    }
+
+    public Optional<LoanRequestResponseDTO> getPending(Long id) {
+        return Optional.ofNullable(pending.get(id));
+    }
+
+    /**
+     * Espera hasta {@code timeout} la primera solicitud y persiste en una transacción todas las que
+     * haya en la cola en ese momento (hasta max-batch-size). Devuelve el tamaño del grupo.
+     */
+    int writeNextBatch(Duration timeout) throws InterruptedException {
+        LoanRequest first = queue.poll(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return 0;
+        }
+        List<LoanRequest> batch = new ArrayList<>(Math.min(maxBatchSize, queue.size() + 1));
+        batch.add(first);
+        queue.drainTo(batch, maxBatchSize - 1);
+        write(batch);
+        return batch.size();
+    }
+
+    private void write(List<LoanRequest> batch) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                groupWriter.write(batch);
+                confirmed(batch);
+                return;
+            } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+                long delay = Math.min(MAX_RETRY_DELAY.toMillis(), 100L << Math.min(attempt, 10));
+                log.warn("Write-behind batch of {} failed ({} attempts), retrying in {} ms: {}", batch.size(), attempt,
+                        delay, e.getMessage());
+                Thread.sleep(delay);
+            } catch (RuntimeException e) {
+                log.warn("Write-behind batch of {} failed, retrying one by one: {}", batch.size(), e.getMessage());
+                writeOneByOne(batch);
+                return;
+            }
+        }
+    }
+
+    private void writeOneByOne(List<LoanRequest> batch) {
+        for (LoanRequest loanRequest : batch) {
+            try {
+                groupWriter.write(List.of(loanRequest));
+                confirmed(List.of(loanRequest));
+            } catch (RuntimeException e) {
+                pending.remove(loanRequest.getId());
+                failed.increment();
+                log.error("Write-behind loan request {} for client {} discarded: {}", loanRequest.getId(),
+                        loanRequest.getClient().getId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void confirmed(List<LoanRequest> batch) {
+        batch.forEach(loanRequest -> pending.remove(loanRequest.getId()));
+        persisted.add(batch.size());
+        if (batchSizes != null) {
+            batchSizes.record(batch.size());
+        }
+    }
+
+    private void runWriter() {
+        // Al detenerse se sigue vaciando la cola: running solo deja de aceptar solicitudes nuevas
+        while (running || !queue.isEmpty()) {
+            try {
+                writeNextBatch(Duration.ofMillis(100));
+            } catch (InterruptedException e) {
+                log.error("Write-behind writer interrupted with {} loan requests queued", queue.size());
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Write-behind writer error: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("loan-write-behind").start(this::runWriter);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join(shutdownTimeout.toMillis());
+            if (writer.isAlive()) {
+                log.error("Write-behind queue not drained within {}; {} loan requests lost", shutdownTimeout, queue.size());
+                writer.interrupt();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Las fases se detienen de mayor a menor: por debajo del servidor web, la cola se vacía cuando ya no
+    // entran peticiones y antes de que se cierre el pool de conexiones
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("loan.writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Solicitudes encoladas pendientes de escribir")
+                .register(registry);
+        Gauge.builder("loan.writebehind.pending", pending, Map::size)
+                .description("Solicitudes aceptadas y aún no confirmadas en la base de datos")
+                .register(registry);
+        FunctionCounter.builder("loan.writebehind.persisted", persisted, LongAdder::sum)
+                .description("Solicitudes diferidas confirmadas en la base de datos")
+                .register(registry);
+        FunctionCounter.builder("loan.writebehind.failed", failed, LongAdder::sum)
+                .description("Solicitudes diferidas descartadas por un error al escribirlas")
+                .register(registry);
+        FunctionCounter.builder("loan.writebehind.rejected", rejected, LongAdder::sum)
+                .description("Solicitudes rechazadas con la cola llena o durante la parada")
+                .register(registry);
+        batchSizes = DistributionSummary.builder("loan.writebehind.batch.size")
+                .description("Solicitudes escritas por transacción")
+                .register(registry);
+    }
+}
@@ -0,0 +1,179 @@
+package com.project.loan.cache;
+
+import com.project.loan.datasource.ReadYourWrites;
+import com.project.loan.datasource.ReplicaRoutingDataSource;
+import com.project.loan.events.ClientChangedEvent;
+import com.project.loan.models.Client;
+import com.project.loan.repo.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClientCache Tests")
+class ClientCacheTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+
+    private ClientCache clientCache;
+
+    private Client testClient;
+
+    @BeforeEach
+    void setUp() {
+        clientCache = new ClientCache(clientRepository, 100, Duration.ofMinutes(1));
+
+        testClient = new Client();
+        testClient.setId(1L);
+        testClient.setName("Juan Pérez");
+        testClient.setDni("12345678A");
+        testClient.setEmail("juan@email.com");
+    }
+
+    @Test
+    @DisplayName("Repeated lookups by ID hit the database once")
+    void testGetByIdCachesResult() {
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(testClient));
+
+        assertEquals(Optional.of(testClient), clientCache.getById(1L));
+        assertEquals(Optional.of(testClient), clientCache.getById(1L));
+
+        verify(clientRepository, times(1)).findById(1L);
+        assertEquals(1, clientCache.stats().get("id").hitCount());
+        assertEquals(1, clientCache.stats().get("id").missCount());
+    }
+
+    @Test
+    @DisplayName("Misses are loaded from the primary")
+    void testGetById_LoadsFromPrimary() {
+        when(clientRepository.findById(1L)).thenAnswer(invocation -> {
+            assertTrue(ReadYourWrites.isActive());
+            return Optional.of(testClient);
+        });
+
+        assertEquals(Optional.of(testClient), clientCache.getById(1L));
+        assertFalse(ReadYourWrites.isActive());
+    }
+
+    @Test
+    @DisplayName("Rows loaded inside a read-only transaction are cached while it has no replica connection")
+    void testGetById_ReadOnlyTransactionCached() {
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(testClient));
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            assertEquals(Optional.of(testClient), clientCache.getById(1L));
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+
+        assertEquals(Optional.of(testClient), clientCache.peek(1L));
+    }
+
+    @Test
+    @DisplayName("Rows loaded in a transaction already reading from a replica are not cached")
+    void testGetById_ReplicaTransactionNotCached() throws Exception {
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(mock(DataSource.class), List.of(replica),
+                Duration.ofSeconds(30));
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(testClient));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            routing.getConnection();
+            assertEquals(Optional.of(testClient), clientCache.getById(1L));
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clear();
+        }
+
+        assertTrue(clientCache.peek(1L).isEmpty());
+        assertFalse(ReplicaRoutingDataSource.isCurrentTransactionOnReplica());
+    }
+
+    @Test
+    @DisplayName("Lookup by DNI populates the ID index")
+    void testGetByDniPopulatesIdCache() {
+        when(clientRepository.findByDni("12345678A")).thenReturn(Optional.of(testClient));
+
+        assertEquals(Optional.of(testClient), clientCache.getByDni("12345678A"));
+        assertEquals(Optional.of(testClient), clientCache.getById(1L));
+
+        verify(clientRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Evicting a client removes its DNI and email keys")
+    void testEvictRemovesSecondaryKeys() {
+        clientCache.put(testClient);
+        clientCache.evict(1L);
+        when(clientRepository.findByEmail("juan@email.com")).thenReturn(Optional.empty());
+
+        assertTrue(clientCache.getByEmail("juan@email.com").isEmpty());
+
+        verify(clientRepository).findByEmail("juan@email.com");
+    }
+
+    @Test
+    @DisplayName("Stale DNI index entry is detected after a DNI change")
+    void testStaleDniIndexIsReloaded() {
+        clientCache.put(testClient);
+
+        Client updated = new Client();
+        updated.setId(1L);
+        updated.setName("Juan Pérez");
+        updated.setDni("87654321B");
+        updated.setEmail("juan@email.com");
+        clientCache.put(updated);
+        when(clientRepository.findByDni("12345678A")).thenReturn(Optional.empty());
+
+        assertTrue(clientCache.getByDni("12345678A").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A committed change replaces a stale row reloaded before the commit")
+    void testClientChangedReplacesStaleRow() {
+        // Una lectura concurrente volvió a cargar la fila antigua entre el desalojo y el commit
+        clientCache.put(testClient);
+
+        Client updated = new Client();
+        updated.setId(1L);
+        updated.setName("Juan Pérez");
+        updated.setDni("87654321B");
+        updated.setEmail("juan@email.com");
+        clientCache.onClientChanged(new ClientChangedEvent(1L, updated, "12345678A", "juan@email.com"));
+        when(clientRepository.findByDni("12345678A")).thenReturn(Optional.empty());
+
+        assertEquals(Optional.of(updated), clientCache.peek(1L));
+        assertEquals(Optional.of(updated), clientCache.getByDni("87654321B"));
+        assertTrue(clientCache.getByDni("12345678A").isEmpty());
+    }
+
+    @Test
+    @DisplayName("A committed delete evicts a row reloaded before the commit")
+    void testClientDeletedEvictsStaleRow() {
+        clientCache.put(testClient);
+
+        clientCache.onClientChanged(new ClientChangedEvent(1L, null, null, null));
+
+        assertTrue(clientCache.peek(1L).isEmpty());
+    }
+}
@@ -0,0 +1,82 @@
+package com.project.loan.cache;
+
+import com.project.loan.models.Client;
+import com.project.loan.repo.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ClientKeyIndex Tests")
+class ClientKeyIndexTest {
+
+    private final ClientRepository clientRepository = mock(ClientRepository.class);
+    private final ClientKeyIndex clientKeyIndex = new ClientKeyIndex();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(clientKeyIndex, "clientRepository", clientRepository);
+        ReflectionTestUtils.setField(clientKeyIndex, "enabled", true);
+        ReflectionTestUtils.setField(clientKeyIndex, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(clientKeyIndex, "minCapacity", 1000L);
+    }
+
+    @Test
+    @DisplayName("Every key is a possible hit until the index is loaded")
+    void testMightContain_BeforeRebuild() {
+        assertTrue(clientKeyIndex.mightContainDni("12345678A"));
+        assertTrue(clientKeyIndex.mightContainEmail("juan@email.com"));
+    }
+
+    @Test
+    @DisplayName("Loaded and added keys are never reported as missing")
+    void testRebuild_NoFalseNegatives() {
+        when(clientRepository.count()).thenReturn(1L);
+        when(clientRepository.streamAllKeys()).thenReturn(Stream.<Object[]>of(new Object[] {"12345678A", "juan@email.com"}));
+
+        clientKeyIndex.rebuild();
+        Client added = new Client();
+        added.setDni("87654321B");
+        added.setEmail("maria@email.com");
+        clientKeyIndex.add(added);
+
+        assertTrue(clientKeyIndex.mightContainDni("12345678A"));
+        assertTrue(clientKeyIndex.mightContainEmail("juan@email.com"));
+        assertTrue(clientKeyIndex.mightContainDni("87654321B"));
+        assertTrue(clientKeyIndex.mightContainEmail("maria@email.com"));
+        // Las claves de DNI y email no se confunden entre sí
+        assertFalse(clientKeyIndex.mightContainEmail("12345678A"));
+    }
+
+    @Test
+    @DisplayName("Disabled index never rules out a key")
+    void testRebuild_Disabled() {
+        ReflectionTestUtils.setField(clientKeyIndex, "enabled", false);
+
+        clientKeyIndex.rebuild();
+
+        assertTrue(clientKeyIndex.mightContainDni("12345678A"));
+        verifyNoInteractions(clientRepository);
+    }
+
+    @Test
+    @DisplayName("False positive rate stays close to the configured one at full capacity")
+    void testBloomFilter_FalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add("dni:" + i));
+
+        long falsePositives = IntStream.range(10_000, 110_000)
+                .filter(i -> filter.mightContain("dni:" + i))
+                .count();
+
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("dni:" + i)));
+        assertTrue(falsePositives < 2_000, "Falsos positivos: " + falsePositives);
+        assertEquals(0.01, filter.estimatedFalsePositiveRate(), 0.005);
+    }
+}
@@ -0,0 +1,98 @@
+package com.project.loan.cache;
+
+import com.project.loan.dto.CursorPageDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.events.LoanRequestCreatedEvent;
+import com.project.loan.events.LoanStatusChangedEvent;
+import com.project.loan.models.LoanStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoanRequestPageCache Tests")
+class LoanRequestPageCacheTest {
+
+    private final LoanRequestPageCache cache = new LoanRequestPageCache(100, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final Supplier<CursorPageDTO<LoanRequestResponseDTO>> loader = () -> {
+        loads.incrementAndGet();
+        return new CursorPageDTO<>(List.of(), null);
+    };
+
+    private static LoanRequestPageCache.Key key(LoanStatus status, Long clientId, String currency) {
+        return new LoanRequestPageCache.Key(status, clientId, currency, null, 50);
+    }
+
+    private int loadsFor(LoanRequestPageCache.Key key) {
+        int before = loads.get();
+        cache.get(key, loader);
+        return loads.get() - before;
+    }
+
+    @Test
+    @DisplayName("Repeated filters are served from the cache")
+    void testGet_CachesByFilters() {
+        cache.get(key(LoanStatus.PENDING, null, "EUR"), loader);
+
+        assertEquals(0, loadsFor(key(LoanStatus.PENDING, null, "EUR")));
+        assertEquals(1, loadsFor(key(LoanStatus.PENDING, null, "USD")));
+    }
+
+    @Test
+    @DisplayName("Status change only evicts pages its row matches")
+    void testStatusChange_EvictsMatchingPages() {
+        LoanRequestPageCache.Key all = key(null, null, null);
+        LoanRequestPageCache.Key pendingEur = key(LoanStatus.PENDING, null, "EUR");
+        LoanRequestPageCache.Key approvedClient = key(LoanStatus.APPROVED, 1L, null);
+        LoanRequestPageCache.Key pendingUsd = key(LoanStatus.PENDING, null, "USD");
+        LoanRequestPageCache.Key otherClient = key(null, 2L, null);
+        LoanRequestPageCache.Key rejected = key(LoanStatus.REJECTED, null, null);
+        List.of(all, pendingEur, approvedClient, pendingUsd, otherClient, rejected)
+                .forEach(key -> cache.get(key, loader));
+
+        cache.onLoanStatusChanged(new LoanStatusChangedEvent(10L, 1L, 1000.0, "EUR",
+                LoanStatus.PENDING, LoanStatus.APPROVED, 1L));
+
+        assertEquals(1, loadsFor(all));
+        assertEquals(1, loadsFor(pendingEur));
+        assertEquals(1, loadsFor(approvedClient));
+        assertEquals(0, loadsFor(pendingUsd));
+        assertEquals(0, loadsFor(otherClient));
+        assertEquals(0, loadsFor(rejected));
+    }
+
+    @Test
+    @DisplayName("Creation evicts pages of its status, client and currency")
+    void testCreate_EvictsMatchingPages() {
+        LoanRequestPageCache.Key pendingClient = key(LoanStatus.PENDING, 1L, "EUR");
+        LoanRequestPageCache.Key approved = key(LoanStatus.APPROVED, null, null);
+        cache.get(pendingClient, loader);
+        cache.get(approved, loader);
+
+        cache.onLoanRequestCreated(new LoanRequestCreatedEvent(10L, 1L, 1000.0, "EUR", LoanStatus.PENDING, 0L));
+
+        assertEquals(1, loadsFor(pendingClient));
+        assertEquals(0, loadsFor(approved));
+    }
+
+    @Test
+    @DisplayName("Page read during a write is not cached")
+    void testGet_WriteDuringLoadIsNotCached() {
+        LoanRequestPageCache.Key key = key(LoanStatus.PENDING, null, null);
+
+        cache.get(key, () -> {
+            cache.invalidate(EnumSet.of(LoanStatus.PENDING), 1L, "EUR");
+            return loader.get();
+        });
+
+        assertEquals(1, loadsFor(key));
+    }
+}
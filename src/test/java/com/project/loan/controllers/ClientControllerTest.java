@@ -1,6 +1,9 @@
 package com.project.loan.controllers;
 
 import com.project.loan.dto.CreateClientDTO;
+import com.project.loan.exceptions.ClientConflictException;
+import com.project.loan.exceptions.PreconditionFailedException;
+import com.project.loan.imports.ClientImporter;
 import com.project.loan.mappers.ClientMapper;
 import com.project.loan.models.Client;
 import com.project.loan.services.ClientService;
@@ -34,6 +37,8 @@ class ClientControllerTest {
     private ClientService clientService;
     @Mock
     private ClientMapper clientMapper;
+    @Mock
+    private ClientImporter clientImporter;
 
     @InjectMocks
     private ClientControllerImpl clientController;
@@ -178,6 +183,37 @@ class ClientControllerTest {
         verify(clientService).createClient(any(Client.class));
     }
 
+    @Test
+    @DisplayName("POST create client with duplicate DNI reports the field")
+    void testCreateClient_WithDuplicateDni_ShouldReturnFieldConflict() throws Exception {
+        when(clientMapper.toEntity(any(CreateClientDTO.class))).thenReturn(testClient1);
+        when(clientService.createClient(any(Client.class)))
+                .thenThrow(new ClientConflictException("dni", "Ya existe un cliente con ese DNI", null));
+
+        String jsonContent = objectMapper.writeValueAsString(createClientDTO);
+
+        mockMvc.perform(post("/api/client")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonContent))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.field").value("dni"))
+                .andExpect(jsonPath("$.message").value("Ya existe un cliente con ese DNI"));
+    }
+
+    @Test
+    @DisplayName("PUT update client with duplicate email reports the field")
+    void testUpdateClient_WithDuplicateEmail_ShouldReturnFieldConflict() throws Exception {
+        when(clientService.updateClient(eq(1L), any(Client.class), isNull()))
+                .thenThrow(new ClientConflictException("email", "Ya existe un cliente con ese email", null));
+        String jsonContent = objectMapper.writeValueAsString(testClient1);
+
+        mockMvc.perform(put("/api/client/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonContent))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.field").value("email"));
+    }
+
     @Test
     @DisplayName("PUT update existing client")
     void testUpdateClient() throws Exception {
@@ -187,7 +223,7 @@ class ClientControllerTest {
         updatedClient.setDni("12345678A");
         updatedClient.setEmail("juan.updated@email.com");
 
-        when(clientService.updateClient(eq(1L), any(Client.class))).thenReturn(Optional.of(updatedClient));
+        when(clientService.updateClient(eq(1L), any(Client.class), isNull())).thenReturn(Optional.of(updatedClient));
         String jsonContent = objectMapper.writeValueAsString(updatedClient);
 
         mockMvc.perform(put("/api/client/1")
@@ -199,13 +235,13 @@ class ClientControllerTest {
                 .andExpect(jsonPath("$.name").value("Juan Pérez Actualizado"))
                 .andExpect(jsonPath("$.email").value("juan.updated@email.com"));
 
-        verify(clientService).updateClient(eq(1L), any(Client.class));
+        verify(clientService).updateClient(eq(1L), any(Client.class), isNull());
     }
 
     @Test
     @DisplayName("PUT update client not found")
     void testUpdateClient_NotFound() throws Exception {
-        when(clientService.updateClient(eq(999L), any(Client.class))).thenReturn(Optional.empty());
+        when(clientService.updateClient(eq(999L), any(Client.class), isNull())).thenReturn(Optional.empty());
         String jsonContent = objectMapper.writeValueAsString(testClient1);
 
         mockMvc.perform(put("/api/client/999")
@@ -214,7 +250,7 @@ class ClientControllerTest {
                 .content(jsonContent))
                 .andExpect(status().isNotFound());
 
-        verify(clientService).updateClient(eq(999L), any(Client.class));
+        verify(clientService).updateClient(eq(999L), any(Client.class), isNull());
     }
 
     @Test
@@ -258,4 +294,53 @@ class ClientControllerTest {
         verify(clientService, never()).createClient(any(Client.class));
     }
   
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET client by ID with a current ETag returns 304 without loading the client")
+    void testGetClientById_NotModified() throws Exception {
+        when(clientService.getClientVersion(1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/api/client/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(clientService, never()).getClientById(anyLong());
+    }
+
+    @Test
+    @DisplayName("PUT client with a stale If-Match returns 412")
+    void testUpdateClient_StaleIfMatch() throws Exception {
+        when(clientService.updateClient(eq(1L), any(Client.class), eq(2L)))
+                .thenThrow(new PreconditionFailedException("El cliente ha cambiado desde la versión 2", 3L));
+
+        mockMvc.perform(put("/api/client/1")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testClient1)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    @DisplayName("PUT client with a weak If-Match returns 412 without updating")
+    void testUpdateClient_WeakIfMatch() throws Exception {
+        mockMvc.perform(put("/api/client/1")
+                .header("If-Match", "W/\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testClient1)))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(clientService, never()).updateClient(anyLong(), any(Client.class), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/client/import - CSV with an invalid header is a bad request")
+    void testImportClientsCsv_InvalidHeader() throws Exception {
+        when(clientImporter.importCsv(any())).thenThrow(new IllegalArgumentException("Cabecera no válida"));
+
+        mockMvc.perform(post("/api/client/import")
+                        .contentType("text/csv")
+                        .content("foo,bar\n"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -1,29 +1,52 @@
 package com.project.loan.controllers;
 
+import com.project.loan.dto.BatchItemResultDTO;
+import com.project.loan.dto.BulkChangeLoanStatusDTO;
 import com.project.loan.dto.CreateLoanRequestDTO;
-import com.project.loan.models.LoanRequest;
+import com.project.loan.dto.CursorPageDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.dto.PortfolioStatsDTO;
+import com.project.loan.dto.PortfolioStatsRowDTO;
+import com.project.loan.dto.StatusTransitionResultDTO;
 import com.project.loan.models.LoanStatus;
 import com.project.loan.dto.ChangeLoanStatusDTO;
 import com.project.loan.models.Client;
 import com.project.loan.services.LoanRequestService;
+import com.project.loan.services.PortfolioStatsService;
+import com.project.loan.exceptions.PreconditionFailedException;
+import com.project.loan.exceptions.WriteBehindRejectedException;
+import com.project.loan.writebehind.LoanRequestWriteBehind;
+import com.project.loan.export.ExportFormat;
+import com.project.loan.export.LoanRequestExporter;
+import com.project.loan.config.BinaryFormatsConfig;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -36,22 +59,29 @@ class LoanRequestControllerTest {
     @Mock
     private LoanRequestService loanRequestService;
 
+    @Mock
+    private PortfolioStatsService portfolioStatsService;
+
+    @Mock
+    private LoanRequestExporter loanRequestExporter;
+
     @InjectMocks
     private LoanRequestControllerImpl loanRequestController;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     private MockMvc mockMvc;
-    private ObjectMapper objectMapper;
 
-    private LoanRequest testLoanRequest1;
-    private LoanRequest testLoanRequest2;
+    private LoanRequestResponseDTO testLoanRequest1;
+    private LoanRequestResponseDTO testLoanRequest2;
     private CreateLoanRequestDTO createLoanRequestDTO;
     private Client testClient;
 
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(loanRequestController).build();
-        objectMapper = new ObjectMapper();
-        objectMapper.findAndRegisterModules();
+        ReflectionTestUtils.setField(loanRequestController, "maxBatchItems", 10);
 
         testClient = new Client();
         testClient.setId(1L);
@@ -60,17 +90,19 @@ class LoanRequestControllerTest {
         testClient.setEmail("juan@email.com");
         testClient.setCreatedAt(LocalDateTime.now());
 
-        testLoanRequest1 = new LoanRequest();
+        testLoanRequest1 = new LoanRequestResponseDTO();
         testLoanRequest1.setId(1L);
-        testLoanRequest1.setClient(testClient);
+        testLoanRequest1.setClientId(testClient.getId());
+        testLoanRequest1.setClientName(testClient.getName());
         testLoanRequest1.setAmount(15000.0);
         testLoanRequest1.setCurrency("EUR");
         testLoanRequest1.setStatus(LoanStatus.PENDING);
         testLoanRequest1.setCreatedAt(LocalDateTime.now());
 
-        testLoanRequest2 = new LoanRequest();
+        testLoanRequest2 = new LoanRequestResponseDTO();
         testLoanRequest2.setId(2L);
-        testLoanRequest2.setClient(testClient);
+        testLoanRequest2.setClientId(testClient.getId());
+        testLoanRequest2.setClientName(testClient.getName());
         testLoanRequest2.setAmount(25000.0);
         testLoanRequest2.setCurrency("USD");
         testLoanRequest2.setStatus(LoanStatus.APPROVED);
@@ -82,11 +114,22 @@ class LoanRequestControllerTest {
         createLoanRequestDTO.setCurrency("EUR");
     }
 
+    // Mismos convertidores que la aplicación: JSON por defecto y CBOR/Smile configurados como en BinaryFormatsConfig
+    private MockMvc binaryMockMvc() {
+        BinaryFormatsConfig binaryFormats = new BinaryFormatsConfig();
+        return MockMvcBuilders.standaloneSetup(loanRequestController)
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper),
+                        binaryFormats.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()),
+                        binaryFormats.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()))
+                .build();
+    }
+
     @Test
     @DisplayName("GET all loan requests")
     void testGetAllLoanRequests() throws Exception {
-        List<LoanRequest> loanRequests = Arrays.asList(testLoanRequest1, testLoanRequest2);
-        when(loanRequestService.getAllLoanRequests(null, null, null)).thenReturn(loanRequests);
+        List<LoanRequestResponseDTO> loanRequests = Arrays.asList(testLoanRequest1, testLoanRequest2);
+        when(loanRequestService.getAllLoanRequests(null, null, null, null, null))
+                .thenReturn(new CursorPageDTO<>(loanRequests, null));
 
         mockMvc.perform(get("/api/loan-requests"))
                 .andExpect(status().isOk())
@@ -99,16 +142,18 @@ class LoanRequestControllerTest {
                 .andExpect(jsonPath("$[1].id").value(2))
                 .andExpect(jsonPath("$[1].amount").value(25000.0))
                 .andExpect(jsonPath("$[1].currency").value("USD"))
-                .andExpect(jsonPath("$[1].status").value("APPROVED"));
+                .andExpect(jsonPath("$[1].status").value("APPROVED"))
+                .andExpect(header().doesNotExist(LoanRequestController.NEXT_CURSOR_HEADER));
 
-        verify(loanRequestService).getAllLoanRequests(null, null, null);
+        verify(loanRequestService).getAllLoanRequests(null, null, null, null, null);
     }
 
     @Test
     @DisplayName("GET loan requests with filters")
     void testGetLoanRequestsWithFilters() throws Exception {
-        List<LoanRequest> filteredRequests = Arrays.asList(testLoanRequest1);
-        when(loanRequestService.getAllLoanRequests(LoanStatus.PENDING, 1L, "EUR")).thenReturn(filteredRequests);
+        List<LoanRequestResponseDTO> filteredRequests = Arrays.asList(testLoanRequest1);
+        when(loanRequestService.getAllLoanRequests(LoanStatus.PENDING, 1L, "EUR", null, null))
+                .thenReturn(new CursorPageDTO<>(filteredRequests, null));
 
         mockMvc.perform(get("/api/loan-requests")
                 .param("status", "PENDING")
@@ -120,7 +165,35 @@ class LoanRequestControllerTest {
                 .andExpect(jsonPath("$[0].status").value("PENDING"))
                 .andExpect(jsonPath("$[0].currency").value("EUR"));
 
-        verify(loanRequestService).getAllLoanRequests(LoanStatus.PENDING, 1L, "EUR");
+        verify(loanRequestService).getAllLoanRequests(LoanStatus.PENDING, 1L, "EUR", null, null);
+    }
+
+    @Test
+    @DisplayName("GET loan requests page returns next cursor header")
+    void testGetLoanRequestsPage_WithNextCursor() throws Exception {
+        when(loanRequestService.getAllLoanRequests(null, null, null, "cursor-1", 1))
+                .thenReturn(new CursorPageDTO<>(List.of(testLoanRequest1), "cursor-2"));
+
+        mockMvc.perform(get("/api/loan-requests")
+                .param("after", "cursor-1")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(LoanRequestController.NEXT_CURSOR_HEADER, "cursor-2"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1));
+
+        verify(loanRequestService).getAllLoanRequests(null, null, null, "cursor-1", 1);
+    }
+
+    @Test
+    @DisplayName("GET loan requests with invalid cursor")
+    void testGetLoanRequests_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        when(loanRequestService.getAllLoanRequests(null, null, null, "not-a-cursor", null))
+                .thenThrow(new IllegalArgumentException("Cursor inválido"));
+
+        mockMvc.perform(get("/api/loan-requests")
+                .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -134,7 +207,10 @@ class LoanRequestControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.amount").value(15000.0))
                 .andExpect(jsonPath("$.currency").value("EUR"))
-                .andExpect(jsonPath("$.status").value("PENDING"));
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.clientId").value(1))
+                .andExpect(jsonPath("$.clientName").value("Juan Pérez"))
+                .andExpect(jsonPath("$.client").doesNotExist());
 
         verify(loanRequestService).getLoanRequestById(1L);
     }
@@ -153,9 +229,10 @@ class LoanRequestControllerTest {
     @Test
     @DisplayName("POST create a new loan request")
     void testCreateLoanRequest_WithValidData_ShouldCreateRequest() throws Exception {
-        LoanRequest savedRequest = new LoanRequest();
+        LoanRequestResponseDTO savedRequest = new LoanRequestResponseDTO();
         savedRequest.setId(3L);
-        savedRequest.setClient(testClient);
+        savedRequest.setClientId(testClient.getId());
+        savedRequest.setClientName(testClient.getName());
         savedRequest.setAmount(createLoanRequestDTO.getAmount());
         savedRequest.setCurrency(createLoanRequestDTO.getCurrency());
         savedRequest.setStatus(LoanStatus.PENDING);
@@ -194,12 +271,61 @@ class LoanRequestControllerTest {
         verify(loanRequestService).createLoanRequest(any(CreateLoanRequestDTO.class));
     }
 
+    @Test
+    @DisplayName("POST create loan request with write-behind returns 202 and the status URL")
+    void testCreateLoanRequest_WriteBehind_ShouldReturnAccepted() throws Exception {
+        LoanRequestWriteBehind writeBehind = mock(LoanRequestWriteBehind.class);
+        ReflectionTestUtils.setField(loanRequestController, "loanRequestWriteBehind", writeBehind);
+        when(writeBehind.submit(any(CreateLoanRequestDTO.class))).thenReturn(testLoanRequest1);
+
+        mockMvc.perform(post("/api/loan-requests")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createLoanRequestDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/loan-requests/1"))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(loanRequestService, never()).createLoanRequest(any(CreateLoanRequestDTO.class));
+    }
+
+    @Test
+    @DisplayName("POST create loan request with a full write-behind queue returns 503")
+    void testCreateLoanRequest_WriteBehindFull_ShouldReturnServiceUnavailable() throws Exception {
+        LoanRequestWriteBehind writeBehind = mock(LoanRequestWriteBehind.class);
+        ReflectionTestUtils.setField(loanRequestController, "loanRequestWriteBehind", writeBehind);
+        when(writeBehind.submit(any(CreateLoanRequestDTO.class)))
+                .thenThrow(new WriteBehindRejectedException("La cola de escritura está llena"));
+
+        mockMvc.perform(post("/api/loan-requests")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createLoanRequestDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("GET loan request still queued for write-behind returns 202 without ETag")
+    void testGetLoanRequestById_PendingWriteBehind() throws Exception {
+        LoanRequestWriteBehind writeBehind = mock(LoanRequestWriteBehind.class);
+        ReflectionTestUtils.setField(loanRequestController, "loanRequestWriteBehind", writeBehind);
+        when(writeBehind.getPending(1L)).thenReturn(Optional.of(testLoanRequest1));
+
+        mockMvc.perform(get("/api/loan-requests/1"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$.id").value(1));
+
+        verifyNoInteractions(loanRequestService);
+    }
+
     @Test
     @DisplayName("PATCH update loan request status")
     void testUpdateLoanRequestStatus() throws Exception {
-        LoanRequest updatedRequest = new LoanRequest();
+        LoanRequestResponseDTO updatedRequest = new LoanRequestResponseDTO();
         updatedRequest.setId(1L);
-        updatedRequest.setClient(testClient);
+        updatedRequest.setClientId(testClient.getId());
+        updatedRequest.setClientName(testClient.getName());
         updatedRequest.setAmount(15000.0);
         updatedRequest.setCurrency("EUR");
         updatedRequest.setStatus(LoanStatus.APPROVED);
@@ -208,7 +334,7 @@ class LoanRequestControllerTest {
         ChangeLoanStatusDTO changeStatusDTO = new ChangeLoanStatusDTO();
         changeStatusDTO.setStatus(LoanStatus.APPROVED);
 
-        when(loanRequestService.updateLoanRequestStatus(eq(1L), any(ChangeLoanStatusDTO.class)))
+        when(loanRequestService.updateLoanRequestStatus(eq(1L), any(ChangeLoanStatusDTO.class), isNull()))
                 .thenReturn(Optional.of(updatedRequest));
 
         String jsonContent = objectMapper.writeValueAsString(changeStatusDTO);
@@ -221,7 +347,7 @@ class LoanRequestControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.status").value("APPROVED"));
 
-        verify(loanRequestService).updateLoanRequestStatus(eq(1L), any(ChangeLoanStatusDTO.class));
+        verify(loanRequestService).updateLoanRequestStatus(eq(1L), any(ChangeLoanStatusDTO.class), isNull());
     }
 
     @Test
@@ -230,7 +356,7 @@ class LoanRequestControllerTest {
         ChangeLoanStatusDTO changeStatusDTO = new ChangeLoanStatusDTO();
         changeStatusDTO.setStatus(LoanStatus.APPROVED);
 
-        when(loanRequestService.updateLoanRequestStatus(eq(999L), any(ChangeLoanStatusDTO.class)))
+        when(loanRequestService.updateLoanRequestStatus(eq(999L), any(ChangeLoanStatusDTO.class), isNull()))
                 .thenReturn(Optional.empty());
 
         String jsonContent = objectMapper.writeValueAsString(changeStatusDTO);
@@ -240,7 +366,7 @@ class LoanRequestControllerTest {
                 .content(jsonContent))
                 .andExpect(status().isNotFound());
 
-        verify(loanRequestService).updateLoanRequestStatus(eq(999L), any(ChangeLoanStatusDTO.class));
+        verify(loanRequestService).updateLoanRequestStatus(eq(999L), any(ChangeLoanStatusDTO.class), isNull());
     }
 
     @Test
@@ -249,7 +375,7 @@ class LoanRequestControllerTest {
         ChangeLoanStatusDTO changeStatusDTO = new ChangeLoanStatusDTO();
         changeStatusDTO.setStatus(LoanStatus.APPROVED);
 
-        when(loanRequestService.updateLoanRequestStatus(eq(1L), any(ChangeLoanStatusDTO.class)))
+        when(loanRequestService.updateLoanRequestStatus(eq(1L), any(ChangeLoanStatusDTO.class), isNull()))
                 .thenThrow(new RuntimeException("Status update failed"));
 
         String jsonContent = objectMapper.writeValueAsString(changeStatusDTO);
@@ -259,7 +385,7 @@ class LoanRequestControllerTest {
                 .content(jsonContent))
                 .andExpect(status().isBadRequest());
 
-        verify(loanRequestService).updateLoanRequestStatus(eq(1L), any(ChangeLoanStatusDTO.class));
+        verify(loanRequestService).updateLoanRequestStatus(eq(1L), any(ChangeLoanStatusDTO.class), isNull());
     }
 
     @Test
@@ -297,4 +423,240 @@ class LoanRequestControllerTest {
 
         verify(loanRequestService, never()).createLoanRequest(any(CreateLoanRequestDTO.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST create loan requests batch from JSON array")
+    void testCreateLoanRequestsBatch() throws Exception {
+        CreateLoanRequestDTO invalidDTO = new CreateLoanRequestDTO();
+        invalidDTO.setClientId(1L);
+        invalidDTO.setAmount(-1.0);
+        invalidDTO.setCurrency("EUR");
+
+        when(loanRequestService.createLoanRequests(anyList())).thenReturn(List.of(
+                BatchItemResultDTO.created(0, 10L),
+                BatchItemResultDTO.rejected(1, "amount: El importe debe ser mayor que cero")));
+
+        String jsonContent = objectMapper.writeValueAsString(List.of(createLoanRequestDTO, invalidDTO));
+
+        mockMvc.perform(post("/api/loan-requests/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(jsonContent))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"));
+
+        verify(loanRequestService).createLoanRequests(argThat(dtos -> dtos.size() == 2));
+    }
+
+    @Test
+    @DisplayName("GET loan requests encoded as CBOR when requested by Accept")
+    void testGetAllLoanRequests_Cbor() throws Exception {
+        when(loanRequestService.getAllLoanRequests(null, null, null, null, null))
+                .thenReturn(new CursorPageDTO<>(List.of(testLoanRequest1, testLoanRequest2), null));
+
+        MvcResult result = binaryMockMvc().perform(get("/api/loan-requests")
+                .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        List<LoanRequestResponseDTO> decoded = new CBORMapper().findAndRegisterModules()
+                .readValue(result.getResponse().getContentAsByteArray(), new TypeReference<List<LoanRequestResponseDTO>>() {});
+        assertEquals(List.of(testLoanRequest1, testLoanRequest2), decoded);
+    }
+
+    @Test
+    @DisplayName("POST create loan requests batch from Smile")
+    void testCreateLoanRequestsBatch_Smile() throws Exception {
+        when(loanRequestService.createLoanRequests(anyList())).thenReturn(List.of(
+                BatchItemResultDTO.created(0, 10L),
+                BatchItemResultDTO.created(1, 11L)));
+        byte[] smile = new SmileMapper().writeValueAsBytes(List.of(createLoanRequestDTO, createLoanRequestDTO));
+
+        binaryMockMvc().perform(post("/api/loan-requests/batch")
+                .contentType(BinaryFormatsConfig.APPLICATION_SMILE_VALUE)
+                .content(smile))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[1].id").value(11));
+
+        verify(loanRequestService).createLoanRequests(argThat(dtos -> dtos.size() == 2
+                && dtos.get(1).getAmount().equals(10000.0)));
+    }
+
+    @Test
+    @DisplayName("POST create loan requests batch from NDJSON")
+    void testCreateLoanRequestsBatchNdjson() throws Exception {
+        when(loanRequestService.createLoanRequests(anyList())).thenReturn(List.of(
+                BatchItemResultDTO.created(0, 10L),
+                BatchItemResultDTO.created(1, 11L)));
+
+        String ndjson = objectMapper.writeValueAsString(createLoanRequestDTO) + "\n"
+                + objectMapper.writeValueAsString(createLoanRequestDTO) + "\n";
+
+        mockMvc.perform(post("/api/loan-requests/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].id").value(11));
+
+        verify(loanRequestService).createLoanRequests(argThat(dtos -> dtos.size() == 2
+                && dtos.get(0).getClientId().equals(1L)));
+    }
+
+    @Test
+    @DisplayName("POST NDJSON batch exceeding the maximum size")
+    void testCreateLoanRequestsBatchNdjson_TooLarge_ShouldReturnBadRequest() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 11; i++) {
+            ndjson.append(objectMapper.writeValueAsString(createLoanRequestDTO)).append("\n");
+        }
+
+        mockMvc.perform(post("/api/loan-requests/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson.toString()))
+                .andExpect(status().isBadRequest());
+
+        verify(loanRequestService, never()).createLoanRequests(anyList());
+    }
+
+    @Test
+    @DisplayName("GET portfolio stats")
+    void testGetPortfolioStats() throws Exception {
+        when(portfolioStatsService.getStats()).thenReturn(new PortfolioStatsDTO(List.of(
+                new PortfolioStatsRowDTO(LoanStatus.PENDING, "EUR", 2L, 25000.0)), LocalDateTime.now()));
+
+        mockMvc.perform(get("/api/loan-requests/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows.length()").value(1))
+                .andExpect(jsonPath("$.rows[0].status").value("PENDING"))
+                .andExpect(jsonPath("$.rows[0].count").value(2))
+                .andExpect(jsonPath("$.rows[0].totalAmount").value(25000.0));
+
+        verifyNoInteractions(loanRequestService);
+    }
+
+    @Test
+    @DisplayName("GET export streams the rows in the requested format")
+    void testExportLoanRequests_Csv() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(4);
+            out.write("id\n1\n".getBytes());
+            return null;
+        }).when(loanRequestExporter).export(eq(ExportFormat.CSV), eq(LoanStatus.PENDING), isNull(), isNull(), any());
+
+        MvcResult result = mockMvc.perform(get("/api/loan-requests/export")
+                .param("format", "csv")
+                .param("status", "PENDING"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"loan-requests.csv\""))
+                .andExpect(content().string("id\n1\n"));
+    }
+
+    @Test
+    @DisplayName("GET export with an unsupported format")
+    void testExportLoanRequests_UnsupportedFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/loan-requests/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(loanRequestExporter);
+    }
+
+    @Test
+    @DisplayName("GET loan request by ID with a current ETag returns 304 without loading the loan request")
+    void testGetLoanRequestById_NotModified() throws Exception {
+        when(loanRequestService.getLoanRequestVersion(1L)).thenReturn(Optional.of(5L));
+
+        mockMvc.perform(get("/api/loan-requests/1").header("If-None-Match", "W/\"4\", \"5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"5\""));
+
+        verify(loanRequestService, never()).getLoanRequestById(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET loan request by ID with a stale ETag returns the loan request and its ETag")
+    void testGetLoanRequestById_Modified() throws Exception {
+        testLoanRequest1.setVersion(6L);
+        when(loanRequestService.getLoanRequestVersion(1L)).thenReturn(Optional.of(6L));
+        when(loanRequestService.getLoanRequestById(1L)).thenReturn(Optional.of(testLoanRequest1));
+
+        mockMvc.perform(get("/api/loan-requests/1").header("If-None-Match", "\"5\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"6\""))
+                .andExpect(jsonPath("$.version").value(6));
+    }
+
+    @Test
+    @DisplayName("PATCH status with a stale If-Match returns 412")
+    void testUpdateLoanRequestStatus_StaleIfMatch() throws Exception {
+        ChangeLoanStatusDTO changeStatusDTO = new ChangeLoanStatusDTO();
+        changeStatusDTO.setStatus(LoanStatus.APPROVED);
+        when(loanRequestService.updateLoanRequestStatus(eq(1L), any(ChangeLoanStatusDTO.class), eq(2L)))
+                .thenThrow(new PreconditionFailedException("La solicitud ha cambiado desde la versión 2", 3L));
+
+        mockMvc.perform(patch("/api/loan-requests/1/status")
+                .header("If-Match", "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changeStatusDTO)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"3\""));
+    }
+
+    @Test
+    @DisplayName("PATCH status with a weak If-Match returns 412 without updating")
+    void testUpdateLoanRequestStatus_WeakIfMatch() throws Exception {
+        ChangeLoanStatusDTO changeStatusDTO = new ChangeLoanStatusDTO();
+        changeStatusDTO.setStatus(LoanStatus.APPROVED);
+
+        mockMvc.perform(patch("/api/loan-requests/1/status")
+                .header("If-Match", "W/\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changeStatusDTO)))
+                .andExpect(status().isPreconditionFailed());
+
+        verifyNoInteractions(loanRequestService);
+    }
+
+    @Test
+    @DisplayName("PATCH bulk status returns the outcome of every id")
+    void testUpdateLoanRequestStatuses_Outcomes() throws Exception {
+        BulkChangeLoanStatusDTO bulkChangeStatusDTO = new BulkChangeLoanStatusDTO();
+        bulkChangeStatusDTO.setIds(List.of(1L, 2L, 999L));
+        bulkChangeStatusDTO.setStatus(LoanStatus.APPROVED);
+        when(loanRequestService.updateLoanRequestStatuses(any(BulkChangeLoanStatusDTO.class))).thenReturn(List.of(
+                StatusTransitionResultDTO.applied(1L, LoanStatus.APPROVED),
+                StatusTransitionResultDTO.invalidTransition(2L, LoanStatus.REJECTED),
+                StatusTransitionResultDTO.notFound(999L)));
+
+        mockMvc.perform(patch("/api/loan-requests/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bulkChangeStatusDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].outcome").value("APPLIED"))
+                .andExpect(jsonPath("$[1].outcome").value("INVALID_TRANSITION"))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$[2].outcome").value("NOT_FOUND"));
+    }
+
+    @Test
+    @DisplayName("PATCH bulk status without ids")
+    void testUpdateLoanRequestStatuses_WithoutIds() throws Exception {
+        when(loanRequestService.updateLoanRequestStatuses(any(BulkChangeLoanStatusDTO.class)))
+                .thenThrow(new IllegalArgumentException("La lista de IDs es obligatoria"));
+
+        mockMvc.perform(patch("/api/loan-requests/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"APPROVED\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,189 @@
+package com.project.loan.controllers;
+
+import com.project.loan.datasource.SqlStatementStatsFilter;
+import com.project.loan.models.Client;
+import com.project.loan.models.LoanRequest;
+import com.project.loan.models.LoanStatus;
+import com.project.loan.repo.ClientRepository;
+import com.project.loan.repo.LoanRequestRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Presupuesto de sentencias SQL por endpoint sobre la aplicación completa (perfil "test", H2). Cada
+ * petición se mide con la cabecera {@value SqlStatementStatsFilter#STATEMENTS_HEADER}; si un cambio
+ * añade viajes a la base de datos (un N+1, una comprobación previa) el presupuesto falla.
+ *
+ * Un batch JDBC cuenta como una sentencia. Las peticiones de calentamiento dejan reservados los bloques
+ * de las secuencias, el cliente en caché y las estadísticas cargadas (la carga inicial es asíncrona),
+ * para que los presupuestos no dependan del orden de los tests.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("SQL statement budget Tests")
+class SqlStatementBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private LoanRequestRepository loanRequestRepository;
+
+    private Client client;
+    private final List<Long> loanRequestIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() throws Exception {
+        client = clientRepository.save(client("Cliente presupuesto", "90000001A", "presupuesto@test.com"));
+        for (int i = 0; i < 5; i++) {
+            LoanRequest loanRequest = new LoanRequest();
+            loanRequest.setClient(client);
+            loanRequest.setAmount(1000.0 + i);
+            loanRequest.setCurrency("EUR");
+            loanRequest.setStatus(LoanStatus.PENDING);
+            loanRequest.setCreatedAt(LocalDateTime.now());
+            loanRequestIds.add(loanRequestRepository.save(loanRequest).getId());
+        }
+        mockMvc.perform(createLoanRequest()).andReturn();
+        mockMvc.perform(get("/api/loan-requests/stats")).andReturn();
+    }
+
+    @Test
+    @DisplayName("GET /api/client/{id}")
+    void testGetClientById() throws Exception {
+        assertBudget(get("/api/client/" + client.getId()), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/client?dni=")
+    void testGetClientByDni() throws Exception {
+        assertBudget(get("/api/client").param("dni", client.getDni()), 1);
+    }
+
+    @Test
+    @DisplayName("POST /api/client")
+    void testCreateClient() throws Exception {
+        assertBudget(post("/api/client").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Nuevo\",\"dni\":\"90000002B\",\"email\":\"nuevo@test.com\"}"), 1);
+    }
+
+    @Test
+    @DisplayName("PUT /api/client/{id}: read and update")
+    void testUpdateClient() throws Exception {
+        Client other = clientRepository.save(client("Cliente a modificar", "90000003C", "modificar@test.com"));
+        assertBudget(put("/api/client/" + other.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Modificado\",\"dni\":\"90000003C\",\"email\":\"modificado@test.com\"}"), 2);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/client/{id}: a single DELETE, also when the client does not exist")
+    void testDeleteClient() throws Exception {
+        Client other = clientRepository.save(client("Cliente a borrar", "90000004D", "borrar@test.com"));
+        assertBudget(delete("/api/client/" + other.getId()), 1);
+        assertBudget(delete("/api/client/" + other.getId()), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/loan-requests by client: the page query only")
+    void testGetLoanRequestsByClient() throws Exception {
+        // Un límite que no usa ningún otro test para no acertar en la caché de páginas
+        MvcResult result = assertBudget(get("/api/loan-requests")
+                .param("ClientId", client.getId().toString())
+                .param("limit", "3"), 1);
+        assertNotNull(result.getResponse().getHeader(LoanRequestController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    @DisplayName("GET /api/loan-requests/{id}")
+    void testGetLoanRequestById() throws Exception {
+        assertBudget(get("/api/loan-requests/" + loanRequestIds.get(0)), 1);
+    }
+
+    @Test
+    @DisplayName("GET /api/loan-requests/stats: served from memory")
+    void testGetPortfolioStats() throws Exception {
+        assertBudget(get("/api/loan-requests/stats"), 0);
+    }
+
+    @Test
+    @DisplayName("POST /api/loan-requests: loan request and outbox inserts")
+    void testCreateLoanRequest() throws Exception {
+        assertBudget(createLoanRequest(), 2);
+    }
+
+    @Test
+    @DisplayName("POST /api/loan-requests/batch: independent of the number of items")
+    void testCreateLoanRequestsBatch() throws Exception {
+        StringJoiner items = new StringJoiner(",", "[", "]");
+        for (int i = 0; i < 20; i++) {
+            items.add("{\"clientId\":" + client.getId() + ",\"amount\":" + (100 + i) + ",\"currency\":\"USD\"}");
+        }
+        assertBudget(post("/api/loan-requests/batch").contentType(MediaType.APPLICATION_JSON)
+                .content(items.toString()), 2);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/loan-requests/{id}/status: conditional update, view and outbox insert")
+    void testUpdateLoanRequestStatus() throws Exception {
+        assertBudget(patch("/api/loan-requests/" + loanRequestIds.get(1) + "/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"APPROVED\"}"), 3);
+    }
+
+    @Test
+    @DisplayName("PATCH /api/loan-requests/status: lock, update and outbox insert per chunk")
+    void testUpdateLoanRequestStatuses() throws Exception {
+        assertBudget(patch("/api/loan-requests/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + loanRequestIds.get(2) + "," + loanRequestIds.get(3) + "," + loanRequestIds.get(4)
+                        + "],\"status\":\"REJECTED\"}"), 3);
+    }
+
+    private RequestBuilder createLoanRequest() {
+        return post("/api/loan-requests").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"clientId\":" + client.getId() + ",\"amount\":500,\"currency\":\"EUR\"}");
+    }
+
+    private MvcResult assertBudget(RequestBuilder request, int budget) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        int status = result.getResponse().getStatus();
+        assertTrue(status < 400 || status == 404, "Respuesta inesperada: " + status);
+        String header = result.getResponse().getHeader(SqlStatementStatsFilter.STATEMENTS_HEADER);
+        assertNotNull(header, "Falta la cabecera " + SqlStatementStatsFilter.STATEMENTS_HEADER);
+        int statements = Integer.parseInt(header);
+        assertTrue(statements <= budget, "Se han ejecutado " + statements + " sentencias SQL y el presupuesto es " + budget);
+        return result;
+    }
+
+    private static Client client(String name, String dni, String email) {
+        Client client = new Client();
+        client.setName(name);
+        client.setDni(dni);
+        client.setEmail(email);
+        client.setCreatedAt(LocalDateTime.now());
+        return client;
+    }
+}
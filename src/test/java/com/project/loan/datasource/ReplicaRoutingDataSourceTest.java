@@ -0,0 +1,99 @@
+package com.project.loan.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReplicaRoutingDataSource Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary";
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica";
+
+    private final DataSource primary = new DriverManagerDataSource(PRIMARY_URL, "sa", "");
+    private final DataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+
+    @BeforeEach
+    void readOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+
+    @AfterEach
+    void reset() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    private String urlOf(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+
+    @Test
+    @DisplayName("Read-only transactions go to the replica")
+    void testReadOnly_UsesReplica() throws Exception {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(30));
+
+        assertEquals(REPLICA_URL, urlOf(routing));
+    }
+
+    @Test
+    @DisplayName("Read-write work goes to the primary")
+    void testReadWrite_UsesPrimary() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(30));
+
+        assertEquals(PRIMARY_URL, urlOf(routing));
+    }
+
+    @Test
+    @DisplayName("Read-your-writes forces the primary inside a read-only transaction")
+    void testReadYourWrites_UsesPrimary() throws Exception {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(30));
+
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.forcePrimary()) {
+            assertEquals(PRIMARY_URL, urlOf(routing));
+        }
+        assertFalse(ReadYourWrites.isActive());
+        assertEquals(REPLICA_URL, urlOf(routing));
+    }
+
+    @Test
+    @DisplayName("Unavailable replica falls back to the primary and is skipped during the cooldown")
+    void testFailingReplica_FallsBackToPrimary() throws Exception {
+        DataSource failing = mock(DataSource.class);
+        when(failing.getConnection()).thenThrow(new SQLException("Connection refused"));
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(failing), Duration.ofMinutes(5));
+
+        assertEquals(PRIMARY_URL, urlOf(routing));
+        assertTrue(routing.isDown("replica-0"));
+        assertEquals(PRIMARY_URL, urlOf(routing));
+        verify(failing, times(1)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Connections requested with credentials are routed the same way")
+    void testGetConnectionWithCredentials_UsesReplica() throws Exception {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofSeconds(30));
+
+        try (Connection connection = routing.getConnection("sa", "")) {
+            assertEquals(REPLICA_URL, connection.getMetaData().getURL());
+        }
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.forcePrimary();
+             Connection connection = routing.getConnection("sa", "")) {
+            assertEquals(PRIMARY_URL, connection.getMetaData().getURL());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.project.loan.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SqlStatementStatsFilter Tests")
+class SqlStatementStatsFilterTest {
+
+    private static final String ROUTE = "/api/loan-requests/{id}";
+
+    private SimpleMeterRegistry meterRegistry;
+    private StatementCountingDataSource dataSource;
+    private PreparedStatement statement;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        meterRegistry = new SimpleMeterRegistry();
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        dataSource = new StatementCountingDataSource(target);
+    }
+
+    @Test
+    @DisplayName("Statements are counted per request, written as headers before the body and recorded as metrics")
+    void testCountsStatements() throws Exception {
+        SqlStatementStatsFilter filter = new SqlStatementStatsFilter(meterRegistry, true, 25);
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            execute("SELECT 1", 2);
+            res.getOutputStream().write('x');
+            // Lo que se ejecuta al escribir el cuerpo ya no llega a las cabeceras
+            execute("SELECT 2", 1);
+        });
+
+        assertEquals("2", response.getHeader(SqlStatementStatsFilter.STATEMENTS_HEADER));
+        assertNotNull(response.getHeader(SqlStatementStatsFilter.TIME_HEADER));
+        assertEquals(3.0, meterRegistry.get(SqlStatementStatsFilter.STATEMENTS)
+                .tag("uri", ROUTE).tag("method", "GET").summary().totalAmount());
+        assertEquals(1, meterRegistry.get(SqlStatementStatsFilter.TIME).tag("uri", ROUTE).timer().count());
+        assertTrue(meterRegistry.find(SqlStatementStatsFilter.REPEATED).counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Headers are added after the chain when nothing was written, and omitted when disabled")
+    void testHeadersWithoutBody() throws Exception {
+        MockHttpServletResponse withHeaders = new MockHttpServletResponse();
+        new SqlStatementStatsFilter(meterRegistry, true, 25).doFilter(request(), withHeaders, chain(1));
+        assertEquals("1", withHeaders.getHeader(SqlStatementStatsFilter.STATEMENTS_HEADER));
+
+        MockHttpServletResponse withoutHeaders = new MockHttpServletResponse();
+        new SqlStatementStatsFilter(meterRegistry, false, 25).doFilter(request(), withoutHeaders, chain(1));
+        assertNull(withoutHeaders.getHeader(SqlStatementStatsFilter.STATEMENTS_HEADER));
+        assertEquals(2, meterRegistry.get(SqlStatementStatsFilter.STATEMENTS).summary().count());
+    }
+
+    @Test
+    @DisplayName("Repeating the same statement is reported as a possible N+1, repeating a batch is not")
+    void testRepeatedStatements() throws Exception {
+        SqlStatementStatsFilter filter = new SqlStatementStatsFilter(meterRegistry, true, 3);
+
+        filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement batch = connection.prepareStatement("INSERT INTO t VALUES (?)")) {
+                for (int i = 0; i < 5; i++) {
+                    batch.executeBatch();
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(meterRegistry.find(SqlStatementStatsFilter.REPEATED).counters().isEmpty());
+
+        filter.doFilter(request(), new MockHttpServletResponse(), chain(3));
+        assertEquals(1.0, meterRegistry.get(SqlStatementStatsFilter.REPEATED).tag("uri", ROUTE).counter().count());
+    }
+
+    @Test
+    @DisplayName("Statements outside a request are not counted")
+    void testOutsideScope() throws Exception {
+        execute("SELECT 1", 1);
+
+        verify(statement).executeQuery();
+        try (SqlStatementStats.Scope scope = SqlStatementStats.open()) {
+            assertEquals(0, scope.stats().getStatements());
+        }
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/loan-requests/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, ROUTE);
+        return request;
+    }
+
+    private FilterChain chain(int executions) {
+        return (req, res) -> execute("SELECT 1", executions);
+    }
+
+    private void execute(String sql, int times) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepared = connection.prepareStatement(sql)) {
+            for (int i = 0; i < times; i++) {
+                prepared.executeQuery();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.loan.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoanRequestCursor Tests")
+class LoanRequestCursorTest {
+
+    @Test
+    @DisplayName("Encoded cursor decodes to the same position")
+    void testEncodeDecodeRoundTrip() {
+        LoanRequestCursor cursor = new LoanRequestCursor(LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123456000), 42L);
+
+        LoanRequestCursor decoded = LoanRequestCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    @DisplayName("Malformed cursor is rejected")
+    void testDecodeInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> LoanRequestCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> LoanRequestCursor.decode("%%%"));
+    }
+}
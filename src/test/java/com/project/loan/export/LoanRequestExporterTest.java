@@ -0,0 +1,78 @@
+package com.project.loan.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.models.LoanStatus;
+import com.project.loan.services.LoanRequestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoanRequestExporter Tests")
+class LoanRequestExporterTest {
+
+    @Mock
+    private LoanRequestService loanRequestService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private LoanRequestExporter loanRequestExporter;
+
+    private final LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            Consumer<LoanRequestResponseDTO> consumer = invocation.getArgument(3);
+            consumer.accept(new LoanRequestResponseDTO(1L, 1L, "Pérez, \"Juan\"", 15000.0, "EUR",
+                    LoanStatus.PENDING, createdAt, 0L));
+            consumer.accept(new LoanRequestResponseDTO(2L, 2L, "María García", 25000.0, "USD",
+                    LoanStatus.APPROVED, createdAt, 1L));
+            return null;
+        }).when(loanRequestService).exportLoanRequests(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("CSV export escapes quoted fields")
+    void testExportCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        loanRequestExporter.export(ExportFormat.CSV, null, null, null, out);
+
+        assertEquals("id,clientId,clientName,amount,currency,status,createdAt\n"
+                + "1,1,\"Pérez, \"\"Juan\"\"\",15000.0,EUR,PENDING,2024-01-15T10:30\n"
+                + "2,2,María García,25000.0,USD,APPROVED,2024-01-15T10:30\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("NDJSON export writes one object per line")
+    void testExportNdjson() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        loanRequestExporter.export(ExportFormat.NDJSON, LoanStatus.PENDING, 1L, "EUR", out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(1L, objectMapper.readValue(lines[0], LoanRequestResponseDTO.class).getId());
+        assertEquals(2L, objectMapper.readValue(lines[1], LoanRequestResponseDTO.class).getId());
+        verify(loanRequestService).exportLoanRequests(eq(LoanStatus.PENDING), eq(1L), eq("EUR"), any());
+    }
+}
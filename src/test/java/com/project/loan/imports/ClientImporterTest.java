@@ -0,0 +1,112 @@
+package com.project.loan.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.loan.dto.BatchItemResultDTO;
+import com.project.loan.dto.ClientImportRejectDTO;
+import com.project.loan.dto.ClientImportResultDTO;
+import com.project.loan.mappers.ClientMapperImpl;
+import com.project.loan.models.Client;
+import com.project.loan.services.ClientService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ClientImporter Tests")
+class ClientImporterTest {
+
+    private final ClientService clientService = mock(ClientService.class);
+    private final ClientImporter clientImporter = new ClientImporter();
+    private final List<List<String>> chunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(clientImporter, "clientService", clientService);
+        ReflectionTestUtils.setField(clientImporter, "clientMapper", new ClientMapperImpl());
+        ReflectionTestUtils.setField(clientImporter, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(clientImporter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(clientImporter, "chunkSize", 2);
+        ReflectionTestUtils.setField(clientImporter, "maxRejects", 10);
+
+        // Crea todos los clientes salvo los de DNI 99999999Z, que simulan uno ya existente
+        when(clientService.importClients(anyList())).thenAnswer(invocation -> {
+            List<Client> clients = invocation.getArgument(0);
+            chunks.add(clients.stream().map(Client::getDni).toList());
+            List<BatchItemResultDTO> results = new ArrayList<>();
+            for (int i = 0; i < clients.size(); i++) {
+                results.add("99999999Z".equals(clients.get(i).getDni())
+                        ? BatchItemResultDTO.rejected(i, "Ya existe un cliente con ese DNI")
+                        : BatchItemResultDTO.created(i, 100L + i));
+            }
+            return results;
+        });
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("CSV rows are validated, chunked and rejected with their line number")
+    void testImportCsv() throws Exception {
+        ClientImportResultDTO result = clientImporter.importCsv(body("""
+                dni,name,email
+                11111111A,"Pérez, Juan",juan@email.com
+                22222222B,Ana,
+
+                bad-dni,Luis,luis@email.com
+                99999999Z,Marta,marta@email.com
+                33333333C,"Sin cerrar
+                44444444D,Pedro,pedro@email.com
+                """));
+
+        assertEquals(6, result.getReceived());
+        assertEquals(3, result.getImported());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(List.of("11111111A", "22222222B"), List.of("99999999Z", "44444444D")), chunks);
+        assertEquals(List.of(5L, 7L, 6L), result.getRejects().stream().map(ClientImportRejectDTO::getLine).toList());
+        assertTrue(result.getRejects().get(0).getError().startsWith("dni:"));
+        assertTrue(result.getRejects().get(1).getError().startsWith("Línea mal formada"));
+        assertEquals(new ClientImportRejectDTO(6L, "99999999Z", "marta@email.com", "Ya existe un cliente con ese DNI"),
+                result.getRejects().get(2));
+        assertFalse(result.isRejectsTruncated());
+    }
+
+    @Test
+    @DisplayName("CSV without the required columns is refused")
+    void testImportCsv_InvalidHeader() {
+        assertThrows(IllegalArgumentException.class, () -> clientImporter.importCsv(body("name,email\nAna,a@b.com\n")));
+        verifyNoInteractions(clientService);
+    }
+
+    @Test
+    @DisplayName("NDJSON rejects beyond the limit are only counted")
+    void testImportNdjson_TruncatesRejects() throws Exception {
+        ReflectionTestUtils.setField(clientImporter, "maxRejects", 1);
+
+        ClientImportResultDTO result = clientImporter.importNdjson(body("""
+                {"name":"Ana","dni":"11111111A","email":"ana@email.com"}
+                {"name":"Luis","dni":"123"}
+                not json
+                """));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(1, result.getRejects().size());
+        assertEquals(2L, result.getRejects().get(0).getLine());
+        assertTrue(result.isRejectsTruncated());
+    }
+}
@@ -0,0 +1,390 @@
+package com.project.loan.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga de extremo a extremo: la aplicación completa sobre H2 (perfil "test") y N hilos
+ * que lanzan peticiones HTTP reales según un {@link LoadMix}. Cada mezcla escribe un informe JSON
+ * con throughput y percentiles por endpoint y falla si supera los presupuestos configurados.
+ *
+ * Solo se ejecuta con el perfil Maven load-test: mvn -Pload-test test
+ */
+@Tag("load")
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("API load test")
+class ApiLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ApiLoadTest.class);
+
+    private static final int SEED_CLIENTS = 200;
+    private static final int SEED_LOAN_REQUESTS = 5_000;
+    private static final int SEED_CHUNK = 1_000;
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP"};
+    private static final String[] LIST_STATUSES = {"PENDING", "APPROVED", "REJECTED", "CANCELLED"};
+
+    private final Duration duration = Duration.ofSeconds(Long.getLong("load.duration-seconds", 20));
+    private final Duration warmup = Duration.ofSeconds(Long.getLong("load.warmup-seconds", 5));
+    private final int concurrency = Integer.getInteger("load.concurrency", 32);
+    private final String mixes = System.getProperty("load.mixes", "");
+    private final Path reportDir = Path.of(System.getProperty("load.report-dir", "target/load-test"));
+    private final Double budgetP99Millis = doubleProperty("load.budget.p99-ms");
+    private final Double budgetErrorRate = doubleProperty("load.budget.error-rate");
+    private final Double budgetMinThroughput = doubleProperty("load.budget.min-throughput");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private HttpClient httpClient;
+
+    // Estado compartido entre hilos: los clientes sembrados no se borran nunca (las lecturas y las
+    // solicitudes nuevas los usan); los creados durante la prueba son los únicos que se borran
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Long> clientIds = new CopyOnWriteArrayList<>();
+    private final Map<Long, Long> clientSequences = new ConcurrentHashMap<>();
+    private final List<Long> loanRequestIds = Collections.synchronizedList(new ArrayList<>());
+    private final Queue<Long> pendingLoanRequests = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> approvedLoanRequests = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> deletableClients = new ConcurrentLinkedQueue<>();
+
+    private static Double doubleProperty(String name) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? null : Double.valueOf(value);
+    }
+
+    @BeforeAll
+    void seed() throws Exception {
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        for (int i = 0; i < SEED_CLIENTS; i++) {
+            long seq = sequence.incrementAndGet();
+            HttpResponse<String> response = send(post("/api/client", clientJson(seq, "Load client " + seq)));
+            assertEquals(201, response.statusCode(), response.body());
+            long id = objectMapper.readTree(response.body()).get("id").asLong();
+            clientIds.add(id);
+            clientSequences.put(id, seq);
+        }
+        for (int created = 0; created < SEED_LOAN_REQUESTS; created += SEED_CHUNK) {
+            List<String> items = new ArrayList<>(SEED_CHUNK);
+            for (int i = 0; i < SEED_CHUNK; i++) {
+                items.add(loanRequestJson());
+            }
+            HttpResponse<String> response = send(post("/api/loan-requests/batch", "[" + String.join(",", items) + "]"));
+            assertEquals(200, response.statusCode(), response.body());
+            for (JsonNode item : objectMapper.readTree(response.body())) {
+                long id = item.get("id").asLong();
+                loanRequestIds.add(id);
+                pendingLoanRequests.add(id);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(LoadMix.class)
+    void run(LoadMix mix) throws Exception {
+        Assumptions.assumeTrue(mixes.isBlank() || Arrays.asList(mixes.split(",")).contains(mix.name()),
+                "Mezcla no seleccionada en load.mixes");
+
+        drive(mix, warmup, new LatencyRecorder());
+        LatencyRecorder recorder = new LatencyRecorder();
+        long elapsed = drive(mix, duration, recorder);
+
+        Map<String, Object> report = report(mix, recorder, elapsed);
+        Files.createDirectories(reportDir);
+        Path file = reportDir.resolve("load-" + mix.name().toLowerCase() + ".json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        String summary = summary(mix, report, file);
+        Files.writeString(reportDir.resolve("load-" + mix.name().toLowerCase() + ".txt"), summary);
+        log.info("Load test summary:{}", summary);
+
+        List<String> violations = budgetViolations(report);
+        assertTrue(violations.isEmpty(), mix + " supera el presupuesto: " + violations);
+    }
+
+    // Carga en bucle cerrado: cada hilo lanza la siguiente petición al recibir la respuesta anterior.
+    // Devuelve la duración real en nanosegundos
+    private long drive(LoadMix mix, Duration runFor, LatencyRecorder recorder) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long deadline = start + runFor.toNanos();
+        try {
+            List<Future<?>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(workers.submit(() -> {
+                    while (System.nanoTime() - deadline < 0) {
+                        execute(mix, recorder);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void execute(LoadMix mix, LatencyRecorder recorder) throws InterruptedException {
+        Endpoint endpoint;
+        Call call;
+        do {
+            endpoint = mix.next();
+            call = call(endpoint);
+        } while (call == null);
+
+        long start = System.nanoTime();
+        boolean error;
+        try {
+            HttpResponse<String> response = send(call.request());
+            error = !call.expectedStatuses().contains(response.statusCode());
+            if (!error && call.onSuccess() != null) {
+                call.onSuccess().accept(response.body());
+            }
+        } catch (IOException e) {
+            error = true;
+        }
+        recorder.record(endpoint, System.nanoTime() - start, error);
+    }
+
+    /**
+     * Petición para el endpoint, o null si ahora mismo no hay datos sobre los que aplicarla (p.ej. no
+     * quedan solicitudes PENDING); en ese caso se elige otro endpoint.
+     */
+    private Call call(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (endpoint) {
+            case LIST_CLIENTS:
+                return new Call(get("/api/client?email=" + email(clientSequences.get(randomClient()))), Set.of(200), null);
+            case GET_CLIENT:
+                return new Call(get("/api/client/" + randomClient()), Set.of(200), null);
+            case CREATE_CLIENT: {
+                long seq = sequence.incrementAndGet();
+                return new Call(post("/api/client", clientJson(seq, "Load client " + seq)), Set.of(201),
+                        body -> deletableClients.add(readId(body)));
+            }
+            case UPDATE_CLIENT: {
+                Long id = randomClient();
+                long seq = clientSequences.get(id);
+                // 412: otra actualización concurrente del mismo cliente ha ganado (bloqueo optimista)
+                return new Call(request("/api/client/" + id).PUT(body(clientJson(seq, "Updated client " + seq))).build(),
+                        Set.of(200, 412), null);
+            }
+            case DELETE_CLIENT: {
+                Long id = deletableClients.poll();
+                return id == null ? null : new Call(request("/api/client/" + id).DELETE().build(), Set.of(204), null);
+            }
+            case LIST_LOAN_REQUESTS: {
+                String query = random.nextBoolean()
+                        ? "status=" + LIST_STATUSES[random.nextInt(LIST_STATUSES.length)]
+                        : "clientId=" + randomClient();
+                return new Call(get("/api/loan-requests?limit=20&" + query), Set.of(200), null);
+            }
+            case GET_LOAN_REQUEST:
+                return new Call(get("/api/loan-requests/" + loanRequestIds.get(random.nextInt(loanRequestIds.size()))),
+                        Set.of(200), null);
+            case CREATE_LOAN_REQUEST:
+                return new Call(post("/api/loan-requests", loanRequestJson()), Set.of(201), body -> {
+                    Long id = readId(body);
+                    loanRequestIds.add(id);
+                    pendingLoanRequests.add(id);
+                });
+            case CHANGE_LOAN_STATUS:
+                return changeStatusCall(random);
+            default:
+                throw new IllegalArgumentException("Endpoint sin petición: " + endpoint);
+        }
+    }
+
+    // Cada solicitud la saca de la cola un único hilo, así que las transiciones son siempre válidas
+    private Call changeStatusCall(ThreadLocalRandom random) {
+        Long approved = random.nextInt(4) == 0 ? approvedLoanRequests.poll() : null;
+        if (approved != null) {
+            return statusCall(approved, "CANCELLED", null);
+        }
+        Long pending = pendingLoanRequests.poll();
+        if (pending == null) {
+            return null;
+        }
+        if (random.nextBoolean()) {
+            return statusCall(pending, "APPROVED", body -> approvedLoanRequests.add(pending));
+        }
+        return statusCall(pending, "REJECTED", null);
+    }
+
+    private Call statusCall(Long id, String status, Consumer<String> onSuccess) {
+        return new Call(request("/api/loan-requests/" + id + "/status")
+                .method("PATCH", body("{\"status\":\"" + status + "\"}")).build(), Set.of(200), onSuccess);
+    }
+
+    private Long randomClient() {
+        return clientIds.get(ThreadLocalRandom.current().nextInt(clientIds.size()));
+    }
+
+    private String loanRequestJson() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"clientId\":" + randomClient()
+                + ",\"amount\":" + (1_000 + random.nextInt(49_000))
+                + ",\"currency\":\"" + CURRENCIES[random.nextInt(CURRENCIES.length)] + "\"}";
+    }
+
+    private static String clientJson(long seq, String name) {
+        return "{\"name\":\"" + name + "\",\"dni\":\"" + String.format("%08d", seq % 100_000_000) + "L\""
+                + ",\"email\":\"" + email(seq) + "\"}";
+    }
+
+    private static String email(long seq) {
+        return "load" + seq + "@example.com";
+    }
+
+    private Long readId(String body) {
+        try {
+            return objectMapper.readTree(body).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Respuesta sin id: " + body, e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+    }
+
+    private HttpRequest get(String path) {
+        return request(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return request(path).POST(body(json)).build();
+    }
+
+    private static HttpRequest.BodyPublisher body(String json) {
+        return HttpRequest.BodyPublishers.ofString(json);
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Map<String, Object> report(LoadMix mix, LatencyRecorder recorder, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        long requests = 0;
+        long errors = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyRecorder.Snapshot snapshot = recorder.snapshot(endpoint);
+            requests += snapshot.count();
+            errors += snapshot.errors();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", endpoint.route());
+            row.put("requests", snapshot.count());
+            row.put("errors", snapshot.errors());
+            row.put("throughput", round(snapshot.count() / seconds));
+            row.put("p50Ms", round(snapshot.percentileMillis(0.50)));
+            row.put("p95Ms", round(snapshot.percentileMillis(0.95)));
+            row.put("p99Ms", round(snapshot.percentileMillis(0.99)));
+            row.put("p999Ms", round(snapshot.percentileMillis(0.999)));
+            row.put("maxMs", round(snapshot.maxMillis()));
+            endpoints.add(row);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("mix", mix.name());
+        report.put("concurrency", concurrency);
+        report.put("durationSeconds", round(seconds));
+        report.put("requests", requests);
+        report.put("errors", errors);
+        report.put("errorRate", requests == 0 ? 0.0 : (double) errors / requests);
+        report.put("throughput", round(requests / seconds));
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> budgetViolations(Map<String, Object> report) {
+        List<String> violations = new ArrayList<>();
+        if (budgetErrorRate != null && (double) report.get("errorRate") > budgetErrorRate) {
+            violations.add("errorRate " + report.get("errorRate") + " > " + budgetErrorRate);
+        }
+        if (budgetMinThroughput != null && (double) report.get("throughput") < budgetMinThroughput) {
+            violations.add("throughput " + report.get("throughput") + " < " + budgetMinThroughput);
+        }
+        if (budgetP99Millis != null) {
+            for (Map<String, Object> row : (List<Map<String, Object>>) report.get("endpoints")) {
+                if ((long) row.get("requests") > 0 && (double) row.get("p99Ms") > budgetP99Millis) {
+                    violations.add(row.get("endpoint") + " p99 " + row.get("p99Ms") + " ms > " + budgetP99Millis);
+                }
+            }
+        }
+        return violations;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String summary(LoadMix mix, Map<String, Object> report, Path file) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("%n%s: %s req/s, %s requests, %s errors (%s)%n", mix, report.get("throughput"),
+                report.get("requests"), report.get("errors"), file));
+        summary.append(String.format("%-38s %9s %8s %8s %8s %8s %8s%n", "endpoint", "req/s", "p50", "p95", "p99",
+                "p99.9", "max"));
+        for (Map<String, Object> row : (List<Map<String, Object>>) report.get("endpoints")) {
+            summary.append(String.format("%-38s %9s %8s %8s %8s %8s %8s%n", row.get("endpoint"), row.get("throughput"),
+                    row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("p999Ms"), row.get("maxMs")));
+        }
+        return summary.toString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private record Call(HttpRequest request, Set<Integer> expectedStatuses, Consumer<String> onSuccess) {
+    }
+}
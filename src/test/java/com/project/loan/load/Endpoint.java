@@ -0,0 +1,27 @@
+package com.project.loan.load;
+
+/**
+ * Endpoints de ClientController y LoanRequestController que ejecuta la prueba de carga.
+ */
+enum Endpoint {
+
+    LIST_CLIENTS("GET /api/client"),
+    GET_CLIENT("GET /api/client/{id}"),
+    CREATE_CLIENT("POST /api/client"),
+    UPDATE_CLIENT("PUT /api/client/{id}"),
+    DELETE_CLIENT("DELETE /api/client/{id}"),
+    LIST_LOAN_REQUESTS("GET /api/loan-requests"),
+    GET_LOAN_REQUEST("GET /api/loan-requests/{id}"),
+    CREATE_LOAN_REQUEST("POST /api/loan-requests"),
+    CHANGE_LOAN_STATUS("PATCH /api/loan-requests/{id}/status");
+
+    private final String route;
+
+    Endpoint(String route) {
+        this.route = route;
+    }
+
+    String route() {
+        return route;
+    }
+}
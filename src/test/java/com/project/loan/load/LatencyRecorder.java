@@ -0,0 +1,70 @@
+package com.project.loan.load;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latencias de una ejecución por endpoint. Guarda todas las muestras para calcular percentiles
+ * exactos (rango más cercano); con las duraciones de la prueba son unos pocos MB como mucho.
+ */
+class LatencyRecorder {
+
+    private final Map<Endpoint, Samples> samples = new EnumMap<>(Endpoint.class);
+
+    LatencyRecorder() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            samples.put(endpoint, new Samples());
+        }
+    }
+
+    void record(Endpoint endpoint, long nanos, boolean error) {
+        samples.get(endpoint).add(nanos, error);
+    }
+
+    Snapshot snapshot(Endpoint endpoint) {
+        return samples.get(endpoint).snapshot();
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[1024];
+        private int count;
+        private long errors;
+
+        synchronized void add(long nanos, boolean error) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        synchronized Snapshot snapshot() {
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return new Snapshot(sorted, errors);
+        }
+    }
+
+    record Snapshot(long[] sorted, long errors) {
+
+        long count() {
+            return sorted.length;
+        }
+
+        double percentileMillis(double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+        }
+
+        double maxMillis() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0;
+        }
+    }
+}
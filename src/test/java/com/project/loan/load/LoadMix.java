@@ -0,0 +1,49 @@
+package com.project.loan.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Reparto de peticiones por endpoint (pesos sobre 100).
+ */
+enum LoadMix {
+
+    READ_HEAVY(Map.of(
+            Endpoint.LIST_CLIENTS, 10, Endpoint.GET_CLIENT, 25, Endpoint.CREATE_CLIENT, 2,
+            Endpoint.UPDATE_CLIENT, 2, Endpoint.DELETE_CLIENT, 1, Endpoint.LIST_LOAN_REQUESTS, 25,
+            Endpoint.GET_LOAN_REQUEST, 30, Endpoint.CREATE_LOAN_REQUEST, 3, Endpoint.CHANGE_LOAN_STATUS, 2)),
+    CREATE_HEAVY(Map.of(
+            Endpoint.LIST_CLIENTS, 5, Endpoint.GET_CLIENT, 10, Endpoint.CREATE_CLIENT, 20,
+            Endpoint.UPDATE_CLIENT, 5, Endpoint.DELETE_CLIENT, 5, Endpoint.LIST_LOAN_REQUESTS, 5,
+            Endpoint.GET_LOAN_REQUEST, 10, Endpoint.CREATE_LOAN_REQUEST, 35, Endpoint.CHANGE_LOAN_STATUS, 5)),
+    // Las creaciones alimentan la cola de solicitudes PENDING sobre las que se aplican las transiciones
+    TRANSITION_HEAVY(Map.of(
+            Endpoint.LIST_CLIENTS, 2, Endpoint.GET_CLIENT, 5, Endpoint.CREATE_CLIENT, 2,
+            Endpoint.UPDATE_CLIENT, 2, Endpoint.DELETE_CLIENT, 1, Endpoint.LIST_LOAN_REQUESTS, 10,
+            Endpoint.GET_LOAN_REQUEST, 15, Endpoint.CREATE_LOAN_REQUEST, 23, Endpoint.CHANGE_LOAN_STATUS, 40));
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    LoadMix(Map<Endpoint, Integer> weights) {
+        Map<Endpoint, Integer> ordered = new EnumMap<>(weights);
+        endpoints = ordered.keySet().toArray(Endpoint[]::new);
+        cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += ordered.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    Endpoint next() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException("Peso fuera de rango: " + value);
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.loan.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AccessLogInterceptor Tests")
+class AccessLogInterceptorTest {
+
+    private final AtomicInteger rendered = new AtomicInteger();
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/loan-requests");
+        Supplier<String> payload = () -> "rendered-" + rendered.incrementAndGet();
+        request.setAttribute(AccessLog.PAYLOAD_ATTRIBUTE, payload);
+        return request;
+    }
+
+    private void handle(AccessLogInterceptor interceptor, int status, Exception ex) {
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(status);
+        interceptor.preHandle(request, response, new Object());
+        interceptor.afterCompletion(request, response, new Object(), ex);
+    }
+
+    @Test
+    @DisplayName("Unsampled successful requests never render the payload")
+    void testUnsampledSuccess_DoesNotRenderPayload() {
+        AccessLogInterceptor interceptor = new AccessLogInterceptor(0.0);
+
+        handle(interceptor, 201, null);
+
+        assertEquals(0, rendered.get());
+    }
+
+    @Test
+    @DisplayName("Errors are always logged")
+    void testErrors_AreAlwaysLogged() {
+        AccessLogInterceptor interceptor = new AccessLogInterceptor(0.0);
+
+        handle(interceptor, 400, null);
+        handle(interceptor, 500, new IllegalStateException("boom"));
+
+        assertEquals(2, rendered.get());
+    }
+
+    @Test
+    @DisplayName("Successful requests are logged at the full sample rate")
+    void testFullSampleRate_LogsSuccess() {
+        AccessLogInterceptor interceptor = new AccessLogInterceptor(1.0);
+
+        handle(interceptor, 200, null);
+
+        assertEquals(1, rendered.get());
+    }
+}
@@ -0,0 +1,59 @@
+package com.project.loan.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OutboxDispatcher Tests")
+class OutboxDispatcherTest {
+
+    private final OutboxRelay outboxRelay = mock(OutboxRelay.class);
+    private final OutboxDispatcher outboxDispatcher = new OutboxDispatcher();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(outboxDispatcher, "outboxRelay", outboxRelay);
+        ReflectionTestUtils.setField(outboxDispatcher, "batchSize", 100);
+        ReflectionTestUtils.setField(outboxDispatcher, "maxBatchesPerRun", 3);
+        ReflectionTestUtils.setField(outboxDispatcher, "pollInterval", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(outboxDispatcher, "maxBackoff", Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Drains batches until the outbox is empty")
+    void testDispatch_DrainsUntilEmpty() throws Exception {
+        when(outboxRelay.relayBatch(100)).thenReturn(100, 40, 0);
+
+        outboxDispatcher.dispatch();
+
+        verify(outboxRelay, times(3)).relayBatch(100);
+    }
+
+    @Test
+    @DisplayName("Stops after the maximum batches per run")
+    void testDispatch_BoundedPerRun() throws Exception {
+        when(outboxRelay.relayBatch(100)).thenReturn(100);
+
+        outboxDispatcher.dispatch();
+
+        verify(outboxRelay, times(3)).relayBatch(100);
+    }
+
+    @Test
+    @DisplayName("Failed dispatch backs off before retrying")
+    void testDispatch_BacksOffAfterFailure() throws Exception {
+        when(outboxRelay.relayBatch(100)).thenThrow(new IllegalStateException("sink down"));
+
+        outboxDispatcher.dispatch();
+        outboxDispatcher.dispatch();
+
+        verify(outboxRelay, times(1)).relayBatch(100);
+        assertEquals(1, outboxDispatcher.getConsecutiveFailures());
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.loan.outbox;
+
+import com.project.loan.models.OutboxEvent;
+import com.project.loan.repo.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutboxSink outboxSink = mock(OutboxSink.class);
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(meterRegistry);
+        ReflectionTestUtils.setField(outboxRelay, "outboxEventRepository", outboxEventRepository);
+        ReflectionTestUtils.setField(outboxRelay, "outboxSink", outboxSink);
+    }
+
+    private OutboxEvent event(Long id, Long aggregateId, Long aggregateVersion) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setAggregateId(aggregateId);
+        event.setAggregateVersion(aggregateVersion);
+        event.setEventType(OutboxWriter.LOAN_REQUEST_CREATED);
+        event.setPayload("{}");
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+
+    @Test
+    @DisplayName("Delivered batch is deleted with a single statement")
+    void testRelayBatch_PublishesThenDeletes() throws Exception {
+        InMemoryOutboxSink memorySink = new InMemoryOutboxSink();
+        ReflectionTestUtils.setField(outboxRelay, "outboxSink", memorySink);
+        List<OutboxEvent> batch = List.of(event(1L, 10L, 0L), event(2L, 11L, 0L));
+        when(outboxEventRepository.findDeliverableForUpdate(Limit.of(50))).thenReturn(batch);
+
+        assertEquals(2, outboxRelay.relayBatch(50));
+
+        assertEquals(batch, memorySink.getEvents());
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertEquals(2.0, meterRegistry.get(OutboxRelay.DISPATCHED).counter().count());
+        assertEquals(2, meterRegistry.get(OutboxRelay.LAG).timer().count());
+    }
+
+    @Test
+    @DisplayName("Failing sink keeps the events pending")
+    void testRelayBatch_SinkFailure() throws Exception {
+        when(outboxEventRepository.findDeliverableForUpdate(any())).thenReturn(List.of(event(1L, 10L, 0L)));
+        doThrow(new IOException("disk full")).when(outboxSink).publish(anyList());
+
+        assertThrows(IOException.class, () -> outboxRelay.relayBatch(50));
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(any());
+        assertEquals(0.0, meterRegistry.get(OutboxRelay.DISPATCHED).counter().count());
+    }
+
+    @Test
+    @DisplayName("Empty outbox does not call the sink")
+    void testRelayBatch_Empty() throws Exception {
+        when(outboxEventRepository.findDeliverableForUpdate(any())).thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relayBatch(50));
+
+        verifyNoInteractions(outboxSink);
+    }
+}
@@ -0,0 +1,151 @@
+package com.project.loan.repo;
+
+import com.project.loan.dto.LoanRequestCursor;
+import com.project.loan.models.LoanStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba contra un PostgreSQL real que cada combinación de filtros del listado se resuelve con un
+ * índice. Se usa EXPLAIN (GENERIC_PLAN), el plan que PostgreSQL reutiliza para una sentencia
+ * preparada sin conocer los valores, que es el caso en el que el patrón "(:x IS NULL OR ...)" fallaba.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.project.loan.repo.LoanRequestQueryPlanTest$SqlCapture"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("LoanRequestRepository query plan Tests")
+class LoanRequestQueryPlanTest {
+
+    private static final int PAGE_SIZE = 51;
+
+    private static final Pattern LOAN_REQUEST_INDEX_SCAN =
+            Pattern.compile("Index (Only )?Scan (Backward )?using idx_loan_request_\\w+ on loan_request");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private LoanRequestRepository loanRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.execute("INSERT INTO client (name, dni, email, created_at)"
+                + " SELECT 'Cliente ' || g, lpad(g::text, 8, '0') || 'A', 'cliente' || g || '@test.com', now()"
+                + " FROM generate_series(1, 2000) g");
+        jdbcTemplate.execute("INSERT INTO loan_request (id, client_id, amount, currency, status, created_at, version)"
+                + " SELECT g, (SELECT min(id) FROM client) + g % 2000, 1000 + g % 50000,"
+                + " (ARRAY['EUR', 'USD', 'GBP'])[g % 3 + 1], g % 4, now() - g * interval '1 second', 0"
+                + " FROM generate_series(1, 200000) g");
+        jdbcTemplate.execute("ANALYZE client");
+        jdbcTemplate.execute("ANALYZE loan_request");
+    }
+
+    static Stream<Arguments> filters() {
+        LoanRequestCursor cursor = new LoanRequestCursor(LocalDateTime.now().minusHours(12), 43200L);
+        return Stream.of(
+                Arguments.of(null, null, null, null),
+                Arguments.of(LoanStatus.APPROVED, null, null, null),
+                Arguments.of(null, 10L, null, null),
+                Arguments.of(null, null, "USD", null),
+                Arguments.of(LoanStatus.APPROVED, 10L, null, null),
+                Arguments.of(LoanStatus.APPROVED, null, "USD", null),
+                Arguments.of(null, 10L, "USD", null),
+                Arguments.of(LoanStatus.APPROVED, 10L, "USD", null),
+                Arguments.of(LoanStatus.PENDING, null, "EUR", cursor),
+                Arguments.of(null, null, null, cursor));
+    }
+
+    @ParameterizedTest(name = "status={0}, clientId={1}, currency={2}, after={3}")
+    @MethodSource("filters")
+    @DisplayName("Every filter combination reads the page in order from an index on loan_request")
+    void testFilterCombination_UsesIndex(LoanStatus status, Long clientId, String currency, LoanRequestCursor after) {
+        SqlCapture.STATEMENTS.clear();
+        loanRequestRepository.findPageByFilters(status, clientId, currency, after, PAGE_SIZE);
+        String sql = SqlCapture.STATEMENTS.stream()
+                .filter(statement -> statement.contains("loan_request"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+
+        assertFalse(sql.toLowerCase().contains("is null"), sql);
+
+        String plan = explainGenericPlan(sql);
+        assertFalse(plan.contains("Seq Scan on loan_request"), plan);
+        // El índice de client_pkey del join no cuenta: la página debe salir de un índice de loan_request
+        assertTrue(LOAN_REQUEST_INDEX_SCAN.matcher(plan).find(), plan);
+        // Sin nodo Sort (ni Incremental Sort): el índice ya devuelve las filas en orden (created_at, id)
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    // Numera los parámetros JDBC como $1..$n y fija el límite, que es el último parámetro
+    private String explainGenericPlan(String sql) {
+        int lastParameter = sql.lastIndexOf('?');
+        String withLimit = sql.substring(0, lastParameter) + PAGE_SIZE + sql.substring(lastParameter + 1);
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : withLimit.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            StringBuilder plan = new StringBuilder();
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numbered)) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        });
+    }
+}
@@ -0,0 +1,240 @@
+package com.project.loan.services;
+
+import com.project.loan.cache.ClientCache;
+import com.project.loan.cache.ClientKeyIndex;
+import com.project.loan.dto.BatchItemResultDTO;
+import com.project.loan.events.ClientChangedEvent;
+import com.project.loan.exceptions.ClientConflictException;
+import com.project.loan.exceptions.PreconditionFailedException;
+import com.project.loan.models.Client;
+import com.project.loan.repo.ClientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClientServiceImpl Tests")
+class ClientServiceImplTest {
+
+    @Mock
+    private ClientRepository clientRepository;
+    @Mock
+    private ClientCache clientCache;
+    @Mock
+    private ClientKeyIndex clientKeyIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ClientServiceImpl clientService;
+
+    private Client newClient;
+
+    @BeforeEach
+    void setUp() {
+        newClient = new Client();
+        newClient.setName("Pedro López");
+        newClient.setDni("11111111C");
+        newClient.setEmail("pedro@email.com");
+    }
+
+    @Test
+    @DisplayName("Create issues a single insert without existence checks")
+    void testCreateClient_SingleInsert() {
+        when(clientRepository.saveAndFlush(newClient)).thenAnswer(invocation -> {
+            Client saved = invocation.getArgument(0);
+            saved.setId(3L);
+            return saved;
+        });
+
+        Client saved = clientService.createClient(newClient);
+
+        assertEquals(3L, saved.getId());
+        assertNotNull(saved.getCreatedAt());
+        verify(clientRepository).saveAndFlush(newClient);
+        verifyNoMoreInteractions(clientRepository);
+        // La caché y el índice se actualizan después del commit, al recibir el evento
+        verify(eventPublisher).publishEvent(new ClientChangedEvent(3L, saved, null, null));
+        verifyNoInteractions(clientCache, clientKeyIndex);
+    }
+
+    @Test
+    @DisplayName("DNI unique constraint violation is reported on the dni field")
+    void testCreateClient_DuplicateDni() {
+        when(clientRepository.saveAndFlush(any(Client.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement [ERROR: duplicate key value violates unique constraint \"uk_client_dni\"]"));
+
+        ClientConflictException e = assertThrows(ClientConflictException.class, () -> clientService.createClient(newClient));
+
+        assertEquals("dni", e.getField());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Email unique constraint violation is reported on the email field")
+    void testCreateClient_DuplicateEmail() {
+        when(clientRepository.saveAndFlush(any(Client.class))).thenThrow(new DataIntegrityViolationException(
+                "ERROR: duplicate key value violates unique constraint \"uk_client_email\" Detail: Key (email)=(pedro@email.com) already exists."));
+
+        ClientConflictException e = assertThrows(ClientConflictException.class, () -> clientService.createClient(newClient));
+
+        assertEquals("email", e.getField());
+    }
+
+    @Test
+    @DisplayName("Update evicts the old entry and caches the new one only after commit")
+    void testUpdateClient_CachesAfterCommit() {
+        newClient.setId(1L);
+        newClient.setVersion(2L);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(newClient));
+        when(clientRepository.saveAndFlush(newClient)).thenReturn(newClient);
+
+        Client updated = clientService.updateClient(1L, client("22222222B", "nuevo@email.com"), 2L).orElseThrow();
+
+        assertEquals("22222222B", updated.getDni());
+        verify(clientCache).evict(newClient);
+        verify(clientCache, never()).put(any());
+        verify(clientKeyIndex, never()).add(any());
+        verify(eventPublisher).publishEvent(new ClientChangedEvent(1L, updated, "11111111C", "pedro@email.com"));
+    }
+
+    @Test
+    @DisplayName("Update that fails to flush publishes no change")
+    void testUpdateClient_FailedFlushPublishesNothing() {
+        newClient.setVersion(2L);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(newClient));
+        when(clientRepository.saveAndFlush(newClient)).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement [ERROR: duplicate key value violates unique constraint \"uk_client_dni\"]"));
+
+        assertThrows(ClientConflictException.class,
+                () -> clientService.updateClient(1L, client("22222222B", "nuevo@email.com"), null));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    @DisplayName("Concurrent modification without If-Match is a conflict")
+    void testUpdateClient_ConcurrentModificationWithoutIfMatch() {
+        newClient.setVersion(2L);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(newClient));
+        when(clientRepository.saveAndFlush(newClient))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Client.class, 1L));
+
+        ClientConflictException e = assertThrows(ClientConflictException.class,
+                () -> clientService.updateClient(1L, client("11111111C", "nuevo@email.com"), null));
+
+        assertEquals("version", e.getField());
+    }
+
+    @Test
+    @DisplayName("Concurrent modification with If-Match fails the precondition")
+    void testUpdateClient_ConcurrentModificationWithIfMatch() {
+        newClient.setVersion(2L);
+        when(clientRepository.findById(1L)).thenReturn(Optional.of(newClient));
+        when(clientRepository.saveAndFlush(newClient))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Client.class, 1L));
+
+        assertThrows(PreconditionFailedException.class,
+                () -> clientService.updateClient(1L, client("11111111C", "nuevo@email.com"), 2L));
+    }
+
+    private static Client client(String dni, String email) {
+        Client client = new Client();
+        client.setName("Cliente " + dni);
+        client.setDni(dni);
+        client.setEmail(email);
+        return client;
+    }
+
+    @Test
+    @DisplayName("Import dedupes the chunk, checks the database once per field and inserts the rest in one call")
+    void testImportClients() {
+        List<Client> clients = List.of(
+                client("11111111A", "a@email.com"),
+                client("11111111A", "otro@email.com"),
+                client("22222222B", "a@email.com"),
+                client("33333333C", "c@email.com"),
+                client("44444444D", "d@email.com"),
+                client("55555555E", null));
+        when(clientKeyIndex.mightContainDni(anyString())).thenReturn(true);
+        when(clientKeyIndex.mightContainEmail(anyString())).thenReturn(true);
+        when(clientRepository.findExistingDnis(Set.of("11111111A", "33333333C", "44444444D", "55555555E")))
+                .thenReturn(List.of("33333333C"));
+        when(clientRepository.findExistingEmails(Set.of("a@email.com", "c@email.com", "d@email.com")))
+                .thenReturn(List.of("d@email.com"));
+        when(clientRepository.insertIgnoringConflicts(anyList())).thenReturn(Map.of("11111111A", 7L));
+
+        List<BatchItemResultDTO> results = clientService.importClients(clients);
+
+        assertEquals(List.of(
+                BatchItemResultDTO.created(0, 7L),
+                BatchItemResultDTO.rejected(1, "DNI repetido en el fichero"),
+                BatchItemResultDTO.rejected(2, "Email repetido en el fichero"),
+                BatchItemResultDTO.rejected(3, "Ya existe un cliente con ese DNI"),
+                BatchItemResultDTO.rejected(4, "Ya existe un cliente con ese email"),
+                BatchItemResultDTO.rejected(5, "Ya existe un cliente con ese DNI o email")), results);
+        verify(clientRepository).insertIgnoringConflicts(List.of(clients.get(0), clients.get(5)));
+        verify(clientRepository, never()).saveAndFlush(any());
+        assertNotNull(clients.get(0).getCreatedAt());
+        verify(clientKeyIndex).add(clients.get(0));
+        verify(clientKeyIndex).recordFalsePositives(3);
+        verify(clientKeyIndex).recordFalsePositives(2);
+    }
+
+    @Test
+    @DisplayName("Import only looks up the keys the index cannot rule out")
+    void testImportClients_IndexSkipsDefiniteMisses() {
+        List<Client> clients = List.of(
+                client("11111111A", "a@email.com"),
+                client("22222222B", "b@email.com"));
+        when(clientKeyIndex.mightContainDni("22222222B")).thenReturn(true);
+        when(clientRepository.findExistingDnis(Set.of("22222222B"))).thenReturn(List.of("22222222B"));
+        when(clientRepository.insertIgnoringConflicts(anyList())).thenReturn(Map.of("11111111A", 7L));
+
+        List<BatchItemResultDTO> results = clientService.importClients(clients);
+
+        assertEquals(List.of(
+                BatchItemResultDTO.created(0, 7L),
+                BatchItemResultDTO.rejected(1, "Ya existe un cliente con ese DNI")), results);
+        verify(clientRepository, never()).findExistingEmails(any());
+        verify(clientRepository).insertIgnoringConflicts(List.of(clients.get(0)));
+    }
+
+    @Test
+    @DisplayName("Delete issues a single DELETE and evicts the client")
+    void testDeleteClient() {
+        when(clientRepository.deleteClientById(1L)).thenReturn(1);
+
+        assertTrue(clientService.deleteClient(1L));
+
+        verify(clientRepository, never()).existsById(any());
+        verify(clientCache).evict(1L);
+        verify(eventPublisher).publishEvent(new ClientChangedEvent(1L, null, null, null));
+    }
+
+    @Test
+    @DisplayName("Delete of a missing client returns false")
+    void testDeleteClient_NotFound() {
+        when(clientRepository.deleteClientById(999L)).thenReturn(0);
+
+        assertFalse(clientService.deleteClient(999L));
+
+        verify(clientCache, never()).evict(anyLong());
+    }
+}
@@ -0,0 +1,181 @@
+package com.project.loan.services;
+
+import com.project.loan.dto.ChangeLoanStatusDTO;
+import com.project.loan.models.Client;
+import com.project.loan.models.LoanRequest;
+import com.project.loan.models.LoanStatus;
+import com.project.loan.repo.ClientRepository;
+import com.project.loan.repo.LoanRequestRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba contra un PostgreSQL real que las escrituras concurrentes no se pisan: el UPDATE
+ * condicional de los cambios de estado y el bloqueo optimista (@Version) de las escrituras a través
+ * de la entidad.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@DisplayName("Concurrent update Tests")
+class LoanRequestConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ROUNDS = 20;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private LoanRequestService loanRequestService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private LoanRequestRepository loanRequestRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger dniSequence = new AtomicInteger(10_000_000);
+
+    @Test
+    @DisplayName("Concurrent approve and reject of the same request: exactly one is applied")
+    void testConcurrentStatusChanges_OnlyOneApplied() throws Exception {
+        Client client = clientRepository.save(client());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                Long id = loanRequestRepository.save(pendingLoanRequest(client)).getId();
+                CyclicBarrier start = new CyclicBarrier(THREADS);
+                List<Future<LoanStatus>> attempts = new ArrayList<>();
+                for (int i = 0; i < THREADS; i++) {
+                    LoanStatus target = i % 2 == 0 ? LoanStatus.APPROVED : LoanStatus.REJECTED;
+                    attempts.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            loanRequestService.updateLoanRequestStatus(id, status(target), null);
+                            return target;
+                        } catch (RuntimeException e) {
+                            return null;
+                        }
+                    }));
+                }
+
+                List<LoanStatus> applied = new ArrayList<>();
+                for (Future<LoanStatus> attempt : attempts) {
+                    LoanStatus result = attempt.get(30, TimeUnit.SECONDS);
+                    if (result != null) {
+                        applied.add(result);
+                    }
+                }
+                assertEquals(1, applied.size(), "Cambios aplicados en la ronda " + round + ": " + applied);
+                assertEquals(applied.get(0), loanRequestRepository.findStatusById(id).orElseThrow());
+                assertEquals(1L, loanRequestRepository.findVersionById(id).orElseThrow());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Two transactions writing the same client version: the second one fails instead of overwriting")
+    void testConcurrentEntityWrites_LostUpdateRejected() throws Exception {
+        Long id = clientRepository.save(client()).getId();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CyclicBarrier bothRead = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> writers = new ArrayList<>();
+            for (String name : List.of("Escritor A", "Escritor B")) {
+                Callable<Boolean> writer = () -> {
+                    try {
+                        transaction.executeWithoutResult(tx -> {
+                            Client loaded = clientRepository.findById(id).orElseThrow();
+                            await(bothRead);
+                            loaded.setName(name);
+                            clientRepository.saveAndFlush(loaded);
+                        });
+                        return true;
+                    } catch (ObjectOptimisticLockingFailureException e) {
+                        return false;
+                    }
+                };
+                writers.add(executor.submit(writer));
+            }
+
+            int committed = 0;
+            for (Future<Boolean> writer : writers) {
+                if (writer.get(30, TimeUnit.SECONDS)) {
+                    committed++;
+                }
+            }
+            assertEquals(1, committed);
+            assertEquals(1L, clientRepository.findVersionById(id).orElseThrow());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Client client() {
+        Client client = new Client();
+        client.setName("Cliente concurrencia");
+        client.setDni(dniSequence.incrementAndGet() + "C");
+        client.setCreatedAt(LocalDateTime.now());
+        return client;
+    }
+
+    private static LoanRequest pendingLoanRequest(Client client) {
+        LoanRequest loanRequest = new LoanRequest();
+        loanRequest.setClient(client);
+        loanRequest.setAmount(1000.0);
+        loanRequest.setCurrency("EUR");
+        loanRequest.setStatus(LoanStatus.PENDING);
+        loanRequest.setCreatedAt(LocalDateTime.now());
+        return loanRequest;
+    }
+
+    private static ChangeLoanStatusDTO status(LoanStatus target) {
+        ChangeLoanStatusDTO dto = new ChangeLoanStatusDTO();
+        dto.setStatus(target);
+        return dto;
+    }
+}
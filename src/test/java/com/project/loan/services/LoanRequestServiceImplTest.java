@@ -0,0 +1,161 @@
+package com.project.loan.services;
+
+import com.project.loan.dto.BulkChangeLoanStatusDTO;
+import com.project.loan.dto.ChangeLoanStatusDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.dto.StatusTransitionResultDTO;
+import com.project.loan.events.LoanStatusChangedEvent;
+import com.project.loan.exceptions.PreconditionFailedException;
+import com.project.loan.metrics.LoanMetrics;
+import com.project.loan.models.Client;
+import com.project.loan.models.LoanRequest;
+import com.project.loan.models.LoanStatus;
+import com.project.loan.repo.LoanRequestRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoanRequestServiceImpl Tests")
+class LoanRequestServiceImplTest {
+
+    @Mock
+    private LoanRequestRepository loanRequestRepository;
+    @Mock
+    private LoanMetrics loanMetrics;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private LoanRequestServiceImpl loanRequestService;
+
+    private ChangeLoanStatusDTO changeStatus(LoanStatus status) {
+        ChangeLoanStatusDTO dto = new ChangeLoanStatusDTO();
+        dto.setStatus(status);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("Status transition is a single conditional update")
+    void testUpdateStatus_AppliesCompareAndSet() {
+        LoanRequestResponseDTO view = new LoanRequestResponseDTO(1L, 1L, "Juan Pérez", 15000.0, "EUR",
+                LoanStatus.APPROVED, LocalDateTime.now(), 1L);
+        when(loanRequestRepository.compareAndSetStatus(1L, LoanStatus.PENDING, LoanStatus.APPROVED))
+                .thenReturn(1);
+        when(loanRequestRepository.findViewById(1L)).thenReturn(Optional.of(view));
+
+        Optional<LoanRequestResponseDTO> result = loanRequestService.updateLoanRequestStatus(1L,
+                changeStatus(LoanStatus.APPROVED), null);
+
+        assertEquals(Optional.of(view), result);
+        verify(loanMetrics).transitionApplied(LoanStatus.PENDING, LoanStatus.APPROVED);
+        verify(eventPublisher).publishEvent(new LoanStatusChangedEvent(1L, 1L, 15000.0, "EUR",
+                LoanStatus.PENDING, LoanStatus.APPROVED, 1L));
+        verify(loanRequestRepository, never()).findStatusById(anyLong());
+        verify(loanRequestRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("Lost compare-and-set reports the invalid transition")
+    void testUpdateStatus_InvalidTransition() {
+        when(loanRequestRepository.compareAndSetStatus(1L, LoanStatus.APPROVED, LoanStatus.CANCELLED))
+                .thenReturn(0);
+        when(loanRequestRepository.findStatusById(1L)).thenReturn(Optional.of(LoanStatus.REJECTED));
+
+        RuntimeException e = assertThrows(RuntimeException.class,
+                () -> loanRequestService.updateLoanRequestStatus(1L, changeStatus(LoanStatus.CANCELLED), null));
+
+        assertTrue(e.getMessage().contains("REJECTED -> CANCELLED"));
+        verify(loanMetrics).transitionRejected(LoanStatus.REJECTED, LoanStatus.CANCELLED);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Transition on a missing loan request returns empty")
+    void testUpdateStatus_NotFound() {
+        when(loanRequestRepository.compareAndSetStatus(999L, LoanStatus.PENDING, LoanStatus.REJECTED))
+                .thenReturn(0);
+        when(loanRequestRepository.findStatusById(999L)).thenReturn(Optional.empty());
+
+        assertTrue(loanRequestService.updateLoanRequestStatus(999L, changeStatus(LoanStatus.REJECTED), null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Transition without allowed source states skips the update")
+    void testUpdateStatus_NoAllowedSource() {
+        when(loanRequestRepository.findStatusById(1L)).thenReturn(Optional.of(LoanStatus.APPROVED));
+
+        assertThrows(RuntimeException.class,
+                () -> loanRequestService.updateLoanRequestStatus(1L, changeStatus(LoanStatus.PENDING), null));
+
+        verify(loanRequestRepository, never()).compareAndSetStatus(anyLong(), any(LoanStatus.class), any());
+    }
+
+    @Test
+    @DisplayName("Transition with a stale expected version is a failed precondition")
+    void testUpdateStatus_StaleVersion() {
+        when(loanRequestRepository.compareAndSetStatus(1L, LoanStatus.PENDING, LoanStatus.APPROVED, 2L))
+                .thenReturn(0);
+        when(loanRequestRepository.findStatusById(1L)).thenReturn(Optional.of(LoanStatus.PENDING));
+        when(loanRequestRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        PreconditionFailedException e = assertThrows(PreconditionFailedException.class,
+                () -> loanRequestService.updateLoanRequestStatus(1L, changeStatus(LoanStatus.APPROVED), 2L));
+
+        assertEquals(3L, e.getCurrentVersion());
+        verify(loanRequestRepository, never()).compareAndSetStatus(anyLong(), any(LoanStatus.class), any());
+        verifyNoInteractions(loanMetrics, eventPublisher);
+    }
+
+    private LoanRequest loanRequest(Long id, LoanStatus status) {
+        Client client = new Client();
+        client.setId(7L);
+        LoanRequest loanRequest = new LoanRequest();
+        loanRequest.setId(id);
+        loanRequest.setClient(client);
+        loanRequest.setAmount(1000.0);
+        loanRequest.setCurrency("EUR");
+        loanRequest.setStatus(status);
+        loanRequest.setVersion(0L);
+        return loanRequest;
+    }
+
+    @Test
+    @DisplayName("Bulk transition locks the rows once and applies a single conditional update")
+    void testUpdateStatuses_ReportsPerIdOutcome() {
+        ReflectionTestUtils.setField(loanRequestService, "maxBatchItems", 100);
+        BulkChangeLoanStatusDTO dto = new BulkChangeLoanStatusDTO();
+        dto.setIds(List.of(3L, 1L, 2L, 1L));
+        dto.setStatus(LoanStatus.APPROVED);
+        when(loanRequestRepository.findAllByIdForUpdate(List.of(3L, 1L, 2L)))
+                .thenReturn(List.of(loanRequest(1L, LoanStatus.PENDING), loanRequest(2L, LoanStatus.REJECTED)));
+        when(loanRequestRepository.compareAndSetStatuses(List.of(1L), EnumSet.of(LoanStatus.PENDING), LoanStatus.APPROVED))
+                .thenReturn(1);
+
+        List<StatusTransitionResultDTO> results = loanRequestService.updateLoanRequestStatuses(dto);
+
+        assertEquals(List.of(
+                StatusTransitionResultDTO.notFound(3L),
+                StatusTransitionResultDTO.applied(1L, LoanStatus.APPROVED),
+                StatusTransitionResultDTO.invalidTransition(2L, LoanStatus.REJECTED)), results);
+        verify(eventPublisher).publishEvent(new LoanStatusChangedEvent(1L, 7L, 1000.0, "EUR",
+                LoanStatus.PENDING, LoanStatus.APPROVED, 1L));
+        verify(loanMetrics).transitionsApplied(LoanStatus.PENDING, LoanStatus.APPROVED, 1);
+        verify(loanMetrics).transitionRejected(LoanStatus.REJECTED, LoanStatus.APPROVED);
+        verify(loanRequestRepository, never()).compareAndSetStatus(anyLong(), any(LoanStatus.class), any());
+    }
+}
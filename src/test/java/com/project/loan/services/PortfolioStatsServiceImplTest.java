@@ -0,0 +1,73 @@
+package com.project.loan.services;
+
+import com.project.loan.dto.PortfolioStatsDTO;
+import com.project.loan.dto.PortfolioStatsRowDTO;
+import com.project.loan.events.LoanRequestCreatedEvent;
+import com.project.loan.events.LoanStatusChangedEvent;
+import com.project.loan.models.LoanStatus;
+import com.project.loan.repo.LoanRequestRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PortfolioStatsServiceImpl Tests")
+class PortfolioStatsServiceImplTest {
+
+    @Mock
+    private LoanRequestRepository loanRequestRepository;
+
+    @InjectMocks
+    private PortfolioStatsServiceImpl portfolioStatsService;
+
+    @Test
+    @DisplayName("Rebuild loads aggregates and events keep them up to date")
+    void testRebuildAndIncrementalUpdates() {
+        when(loanRequestRepository.aggregateByStatusAndCurrency()).thenReturn(List.of(
+                new PortfolioStatsRowDTO(LoanStatus.PENDING, "EUR", 2L, 3000.0)));
+        portfolioStatsService.rebuild();
+
+        portfolioStatsService.onLoanRequestCreated(new LoanRequestCreatedEvent(3L, 1L, 500.0, "EUR", LoanStatus.PENDING, 0L));
+        portfolioStatsService.onLoanStatusChanged(new LoanStatusChangedEvent(1L, 1L, 1000.0, "EUR",
+                LoanStatus.PENDING, LoanStatus.APPROVED, 1L));
+
+        assertEquals(List.of(
+                new PortfolioStatsRowDTO(LoanStatus.PENDING, "EUR", 2L, 2500.0),
+                new PortfolioStatsRowDTO(LoanStatus.APPROVED, "EUR", 1L, 1000.0)),
+                portfolioStatsService.getStats().getRows());
+        verify(loanRequestRepository, times(1)).aggregateByStatusAndCurrency();
+    }
+
+    @Test
+    @DisplayName("Reconcile replaces drifted aggregates with the database totals")
+    void testReconcile() {
+        portfolioStatsService.onLoanRequestCreated(new LoanRequestCreatedEvent(1L, 1L, 500.0, "USD", LoanStatus.PENDING, 0L));
+        when(loanRequestRepository.aggregateByStatusAndCurrency()).thenReturn(List.of(
+                new PortfolioStatsRowDTO(LoanStatus.REJECTED, "USD", 1L, 500.0)));
+
+        PortfolioStatsDTO stats = portfolioStatsService.reconcile();
+
+        assertEquals(List.of(new PortfolioStatsRowDTO(LoanStatus.REJECTED, "USD", 1L, 500.0)), stats.getRows());
+    }
+
+    @Test
+    @DisplayName("Reading before the initial load waits for it instead of returning empty aggregates")
+    void testGetStats_BeforeInitialLoad() {
+        when(loanRequestRepository.aggregateByStatusAndCurrency()).thenReturn(List.of(
+                new PortfolioStatsRowDTO(LoanStatus.PENDING, "EUR", 2L, 3000.0)));
+
+        assertEquals(List.of(new PortfolioStatsRowDTO(LoanStatus.PENDING, "EUR", 2L, 3000.0)),
+                portfolioStatsService.getStats().getRows());
+        portfolioStatsService.getStats();
+
+        verify(loanRequestRepository, times(1)).aggregateByStatusAndCurrency();
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.loan.writebehind;
+
+import com.project.loan.models.Client;
+import com.project.loan.models.LoanRequest;
+import com.project.loan.models.LoanStatus;
+import com.project.loan.repo.ClientRepository;
+import com.project.loan.repo.LoanRequestRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Comprueba que los IDs de la escritura diferida y los que genera Hibernate no se solapan partiendo
+ * de una secuencia recién creada (base de datos H2 propia), el caso en el que la primera llamada a la
+ * secuencia devuelve 1.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:id-allocator;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+@DisplayName("LoanRequestIdAllocator Tests")
+class LoanRequestIdAllocatorTest {
+
+    private static final int ROUNDS = 3 * LoanRequest.ID_ALLOCATION_SIZE;
+
+    @Autowired
+    private LoanRequestIdAllocator idAllocator;
+
+    @Autowired
+    private LoanRequestRepository loanRequestRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("save() and allocator IDs interleaved on a fresh sequence never collide")
+    void testInterleavedWithSave_NoDuplicateIds() {
+        Client client = new Client();
+        client.setName("Cliente secuencia");
+        client.setDni("70000001A");
+        client.setCreatedAt(LocalDateTime.now());
+        client = clientRepository.save(client);
+
+        List<Long> saved = new ArrayList<>();
+        List<Long> allocated = new ArrayList<>();
+        // Hibernate hace la primera llamada a la secuencia
+        for (int i = 0; i < ROUNDS; i++) {
+            saved.add(loanRequestRepository.save(pendingLoanRequest(client)).getId());
+            long id = idAllocator.nextId();
+            allocated.add(id);
+            // Inserción con el ID asignado, sin pasar por el generador de Hibernate
+            jdbcTemplate.update("INSERT INTO loan_request (id, client_id, amount, currency, status, created_at, version)"
+                    + " VALUES (?, ?, 1000, 'EUR', ?, ?, 0)", id, client.getId(), LoanStatus.PENDING.ordinal(),
+                    Timestamp.valueOf(LocalDateTime.now()));
+        }
+
+        HashSet<Long> ids = new HashSet<>(saved);
+        ids.addAll(allocated);
+        assertEquals(2 * ROUNDS, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id > 0));
+        assertEquals(2L * ROUNDS, loanRequestRepository.count());
+    }
+
+    private static LoanRequest pendingLoanRequest(Client client) {
+        LoanRequest loanRequest = new LoanRequest();
+        loanRequest.setClient(client);
+        loanRequest.setAmount(1000.0);
+        loanRequest.setCurrency("EUR");
+        loanRequest.setStatus(LoanStatus.PENDING);
+        loanRequest.setCreatedAt(LocalDateTime.now());
+        return loanRequest;
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.loan.writebehind;
+
+import com.project.loan.cache.ClientCache;
+import com.project.loan.dto.CreateLoanRequestDTO;
+import com.project.loan.dto.LoanRequestResponseDTO;
+import com.project.loan.exceptions.WriteBehindRejectedException;
+import com.project.loan.mappers.LoanRequestMapperImpl;
+import com.project.loan.models.Client;
+import com.project.loan.models.LoanRequest;
+import com.project.loan.models.LoanStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("LoanRequestWriteBehind Tests")
+class LoanRequestWriteBehindTest {
+
+    private final ClientCache clientCache = mock(ClientCache.class);
+    private final LoanRequestIdAllocator idAllocator = mock(LoanRequestIdAllocator.class);
+    private final LoanRequestGroupWriter groupWriter = mock(LoanRequestGroupWriter.class);
+    private final LoanRequestWriteBehind writeBehind = new LoanRequestWriteBehind(2);
+
+    private CreateLoanRequestDTO createLoanRequestDTO;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writeBehind, "clientCache", clientCache);
+        ReflectionTestUtils.setField(writeBehind, "loanRequestMapper", new LoanRequestMapperImpl());
+        ReflectionTestUtils.setField(writeBehind, "idAllocator", idAllocator);
+        ReflectionTestUtils.setField(writeBehind, "groupWriter", groupWriter);
+        ReflectionTestUtils.setField(writeBehind, "maxBatchSize", 500);
+        // Acepta solicitudes sin arrancar el hilo escritor: los tests escriben con writeNextBatch
+        ReflectionTestUtils.setField(writeBehind, "running", true);
+
+        Client client = new Client();
+        client.setId(1L);
+        client.setName("Juan Pérez");
+        when(clientCache.getById(1L)).thenReturn(Optional.of(client));
+        when(idAllocator.nextId()).thenReturn(101L, 102L, 103L);
+
+        createLoanRequestDTO = new CreateLoanRequestDTO();
+        createLoanRequestDTO.setClientId(1L);
+        createLoanRequestDTO.setAmount(10000.0);
+        createLoanRequestDTO.setCurrency("EUR");
+    }
+
+    @Test
+    @DisplayName("Accepted requests are pending until their group is committed")
+    void testSubmit_GroupCommit() throws Exception {
+        LoanRequestResponseDTO first = writeBehind.submit(createLoanRequestDTO);
+        LoanRequestResponseDTO second = writeBehind.submit(createLoanRequestDTO);
+
+        assertEquals(101L, first.getId());
+        assertEquals(LoanStatus.PENDING, first.getStatus());
+        assertEquals("Juan Pérez", first.getClientName());
+        assertTrue(writeBehind.getPending(102L).isPresent());
+
+        assertEquals(2, writeBehind.writeNextBatch(Duration.ZERO));
+
+        verify(groupWriter).write(argThat(batch -> batch.size() == 2
+                && batch.get(0).getId() == 101L && batch.get(1).getId() == 102L));
+        assertTrue(writeBehind.getPending(second.getId()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Full queue rejects the request")
+    void testSubmit_QueueFull() {
+        writeBehind.submit(createLoanRequestDTO);
+        writeBehind.submit(createLoanRequestDTO);
+
+        assertThrows(WriteBehindRejectedException.class, () -> writeBehind.submit(createLoanRequestDTO));
+        assertTrue(writeBehind.getPending(103L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Unknown client is rejected before queueing")
+    void testSubmit_ClientNotFound() {
+        createLoanRequestDTO.setClientId(2L);
+        when(clientCache.getById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> writeBehind.submit(createLoanRequestDTO));
+        verifyNoInteractions(idAllocator);
+    }
+
+    @Test
+    @DisplayName("Failed group is retried one by one and only the failing request is discarded")
+    void testWriteNextBatch_FallsBackToSingleWrites() throws Exception {
+        writeBehind.submit(createLoanRequestDTO);
+        writeBehind.submit(createLoanRequestDTO);
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("fk_client");
+        doThrow(violation).when(groupWriter).write(argThat(batch -> batch.size() == 2));
+        doThrow(violation).when(groupWriter).write(argThat(batch -> batch.size() == 1 && batch.get(0).getId() == 102L));
+
+        writeBehind.writeNextBatch(Duration.ZERO);
+
+        verify(groupWriter).write(argThat((List<LoanRequest> batch) -> batch.size() == 1 && batch.get(0).getId() == 101L));
+        assertTrue(writeBehind.getPending(101L).isEmpty());
+        assertTrue(writeBehind.getPending(102L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Stopped write-behind rejects new requests")
+    void testSubmit_AfterStop() {
+        ReflectionTestUtils.setField(writeBehind, "running", false);
+
+        assertThrows(WriteBehindRejectedException.class, () -> writeBehind.submit(createLoanRequestDTO));
+        verifyNoInteractions(clientCache);
+    }
+}